@@ -0,0 +1,213 @@
+package com.example.apigateway.auth;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Registar API ključeva: čuva samo SHA-256 hash svakog ključa, u open-addressing tabeli po
+ * prvih 8 bajtova hash-a, uz ID klijenta.
+ * <p>
+ * Provera heširuje primljeni ključ u bafere vezane za nit (bez alokacija) i upoređuje ceo hash
+ * sa {@link MessageDigest#isEqual} (konstantno vreme). Pošto se traži po hash-u, vreme pretrage
+ * ne otkriva ništa o samom ključu. Ključevi se čitaju iz {@code gateway.api.keys-file}
+ * ({@code clientId=sha256hex} po liniji) i ponovo učitavaju kada se fajl promeni; tabela se menja
+ * atomično, pa zahtevi u toku vide ili staru ili novu verziju. {@code gateway.api.key} (plaintext)
+ * je i dalje podržan kao klijent {@value #DEFAULT_CLIENT_ID}.
+ */
+@Component
+public class ApiKeyRegistry {
+
+    public static final String DEFAULT_CLIENT_ID = "default";
+    public static final int MAX_KEY_LENGTH = 256;
+
+    private static final Logger log = LoggerFactory.getLogger(ApiKeyRegistry.class);
+    private static final int HASH_LENGTH = 32;
+    private static final ThreadLocal<Hasher> HASHER = ThreadLocal.withInitial(Hasher::new);
+
+    private final String plaintextKey;
+    private final Path keysFile;
+    private volatile KeyTable table;
+    private FileTime loadedVersion;
+
+    public ApiKeyRegistry(MeterRegistry meterRegistry,
+                          @Value("${gateway.api.key:}") String plaintextKey,
+                          @Value("${gateway.api.keys-file:}") String keysFile) {
+        this.plaintextKey = plaintextKey;
+        this.keysFile = keysFile.isBlank() ? null : Path.of(keysFile);
+        try {
+            this.table = load();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Cannot load API keys from " + keysFile, e);
+        }
+        Gauge.builder("gateway.api.keys", this, ApiKeyRegistry::size)
+                .description("Broj važećih API ključeva")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return ID klijenta kome ključ pripada ili {@code null} ako ključ nije važeći
+     */
+    public String resolve(String apiKey) {
+        if (apiKey == null || apiKey.isEmpty() || apiKey.length() > MAX_KEY_LENGTH) {
+            return null;
+        }
+        byte[] hash = HASHER.get().hash(apiKey);
+        return hash == null ? null : table.lookup(hash);
+    }
+
+    public int size() {
+        return table.size;
+    }
+
+    @Scheduled(fixedDelayString = "${gateway.api.keys-reload-interval:10s}",
+            initialDelayString = "${gateway.api.keys-reload-interval:10s}")
+    public synchronized void reloadIfChanged() {
+        if (keysFile == null) {
+            return;
+        }
+        try {
+            if (Files.getLastModifiedTime(keysFile).equals(loadedVersion)) {
+                return;
+            }
+            table = load();
+            log.info("🔑 Reloaded {} API keys from {}", table.size, keysFile);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("💥 Failed to reload API keys from {} — keeping previous keys: {}", keysFile, e.getMessage());
+        }
+    }
+
+    private KeyTable load() throws IOException {
+        Map<String, byte[]> hashes = new LinkedHashMap<>();
+        if (!plaintextKey.isBlank()) {
+            hashes.put(DEFAULT_CLIENT_ID, sha256(plaintextKey));
+        }
+        if (keysFile != null) {
+            FileTime version = Files.getLastModifiedTime(keysFile);
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(keysFile, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            for (String clientId : properties.stringPropertyNames()) {
+                byte[] hash = HexFormat.of().parseHex(properties.getProperty(clientId).trim());
+                if (hash.length != HASH_LENGTH) {
+                    throw new IllegalArgumentException("Key hash for client '" + clientId + "' is not a SHA-256 hex digest");
+                }
+                hashes.put(clientId, hash);
+            }
+            loadedVersion = version;
+        }
+        return new KeyTable(hashes);
+    }
+
+    public static byte[] sha256(String apiKey) {
+        return newDigest().digest(apiKey.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Bafere za heširanje ima svaka nit (Netty event loop) za sebe, pa provera ne alocira.
+     * Ključevi su ASCII; ostali znakovi čine ključ nevažećim.
+     */
+    private static final class Hasher {
+
+        private final MessageDigest digest = newDigest();
+        private final byte[] input = new byte[MAX_KEY_LENGTH];
+        private final byte[] output = new byte[HASH_LENGTH];
+
+        byte[] hash(String apiKey) {
+            int length = apiKey.length();
+            for (int i = 0; i < length; i++) {
+                char c = apiKey.charAt(i);
+                if (c > 0x7F) {
+                    return null;
+                }
+                input[i] = (byte) c;
+            }
+            digest.update(input, 0, length);
+            try {
+                digest.digest(output, 0, HASH_LENGTH);
+            } catch (DigestException e) {
+                throw new IllegalStateException(e);
+            }
+            return output;
+        }
+    }
+
+    /**
+     * Nepromenljiva tabela sa linearnim probanjem; kapacitet je stepen dvojke, najviše do pola popunjen.
+     */
+    private static final class KeyTable {
+
+        private final int size;
+        private final int mask;
+        private final long[] prefixes;
+        private final byte[][] hashes;
+        private final String[] clientIds;
+
+        KeyTable(Map<String, byte[]> entries) {
+            this.size = entries.size();
+            int capacity = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+            this.mask = capacity - 1;
+            this.prefixes = new long[capacity];
+            this.hashes = new byte[capacity][];
+            this.clientIds = new String[capacity];
+            entries.forEach((clientId, hash) -> {
+                long prefix = prefix(hash);
+                int slot = (int) prefix & mask;
+                while (clientIds[slot] != null) {
+                    if (MessageDigest.isEqual(hashes[slot], hash)) {
+                        throw new IllegalArgumentException("Clients '" + clientIds[slot] + "' and '" + clientId + "' share the same key");
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                prefixes[slot] = prefix;
+                hashes[slot] = hash.clone();
+                clientIds[slot] = clientId;
+            });
+        }
+
+        String lookup(byte[] hash) {
+            long prefix = prefix(hash);
+            for (int slot = (int) prefix & mask; clientIds[slot] != null; slot = (slot + 1) & mask) {
+                if (prefixes[slot] == prefix && MessageDigest.isEqual(hashes[slot], hash)) {
+                    return clientIds[slot];
+                }
+            }
+            return null;
+        }
+
+        private static long prefix(byte[] hash) {
+            long prefix = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                prefix = (prefix << 8) | (hash[i] & 0xFF);
+            }
+            return prefix;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.apigateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+
+/**
+ * Keširan odgovor rute: zaglavlja (bez hop-by-hop), telo i ETag izračunat nad telom.
+ */
+public record CachedResponse(HttpHeaders headers, byte[] body, String etag, long storedAtNanos, Duration ttl) {
+
+    public long ageSeconds() {
+        return Duration.ofNanos(System.nanoTime() - storedAtNanos).toSeconds();
+    }
+}
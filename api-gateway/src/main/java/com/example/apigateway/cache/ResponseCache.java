@@ -0,0 +1,93 @@
+package com.example.apigateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ograničen (po bajtovima) keš GET odgovora, po ključu (ruta, id resursa). Svaki unos ima TTL svoje rute.
+ * <p>
+ * Brisanje povećava epohu: odgovor koji je krenuo sa servisa pre brisanja se ne upisuje,
+ * da zastareli podaci ne bi "preživeli" događaj koji je stigao dok je zahtev bio u toku.
+ * Metrike: cache.* (tag cache=gateway-responses), gateway.cache.hit.ratio,
+ * gateway.cache.bytes.saved (leg=upstream|client) i gateway.cache.purges.
+ */
+@Component
+public class ResponseCache {
+
+    public record Key(String routeId, String id) {
+    }
+
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final Cache<Key, CachedResponse> cache;
+    private final AtomicLong epoch = new AtomicLong();
+    private final Counter upstreamBytesSaved;
+    private final Counter clientBytesSaved;
+    private final Counter purges;
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${gateway.cache.maximum-size:64MB}") DataSize maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((Key key, CachedResponse response) -> response.body().length + ENTRY_OVERHEAD_BYTES)
+                .expireAfter(Expiry.creating((Key key, CachedResponse response) -> response.ttl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway-responses");
+        Gauge.builder("gateway.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Udeo GET zahteva posluženih iz keša gateway-a")
+                .register(meterRegistry);
+        this.upstreamBytesSaved = Counter.builder("gateway.cache.bytes.saved").tag("leg", "upstream")
+                .baseUnit("bytes").register(meterRegistry);
+        this.clientBytesSaved = Counter.builder("gateway.cache.bytes.saved").tag("leg", "client")
+                .baseUnit("bytes").register(meterRegistry);
+        this.purges = meterRegistry.counter("gateway.cache.purges");
+    }
+
+    public CachedResponse get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    public long epoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Upisuje odgovor samo ako od {@code startEpoch} nije bilo brisanja.
+     */
+    public void put(Key key, CachedResponse response, long startEpoch) {
+        if (epoch.get() == startEpoch) {
+            cache.put(key, response);
+        }
+    }
+
+    public void purge(String routeId, Object id) {
+        epoch.incrementAndGet();
+        cache.invalidate(new Key(routeId, String.valueOf(id)));
+        purges.increment();
+    }
+
+    public void purgeAll() {
+        epoch.incrementAndGet();
+        cache.invalidateAll();
+        purges.increment();
+    }
+
+    public void recordServedFromCache(int bytes) {
+        upstreamBytesSaved.increment(bytes);
+    }
+
+    public void recordNotModified(int bytes) {
+        clientBytesSaved.increment(bytes);
+    }
+}
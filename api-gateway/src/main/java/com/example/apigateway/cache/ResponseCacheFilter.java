@@ -0,0 +1,225 @@
+package com.example.apigateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keš GET odgovora za pojedinačne resurse (npr. {@code /api/users/{id}}), podešen po ruti:
+ * <pre>
+ * gateway.cache.routes.users-service.path=/api/users/{id}
+ * gateway.cache.routes.users-service.ttl=30s
+ * </pre>
+ * Keširaju se samo 200 odgovori bez {@code no-store}/{@code private}/{@code no-cache}; {@code max-age}
+ * servisa skraćuje TTL rute. Klijent dobija ETag i 304 za {@code If-None-Match}, a {@code Cache-Control: no-cache}
+ * u zahtevu zaobilazi keš (odgovor se ipak osvežava). Unose briše {@link com.example.apigateway.listener.CachePurgeListener}.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    public static final String CACHE_HEADER = "X-Cache";
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final List<String> NOT_STORED_HEADERS = List.of(HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, HttpHeaders.DATE, HttpHeaders.SET_COOKIE,
+            "Keep-Alive", CACHE_HEADER);
+
+    private record RoutePolicy(PathPattern path, Duration ttl) {
+    }
+
+    private final ResponseCache cache;
+    private final Environment environment;
+    private final boolean enabled;
+    private final long maxEntryBytes;
+    private final Map<String, Optional<RoutePolicy>> policies = new ConcurrentHashMap<>();
+
+    public ResponseCacheFilter(ResponseCache cache, Environment environment,
+                               @Value("${gateway.cache.enabled:true}") boolean enabled,
+                               @Value("${gateway.cache.max-entry-size:256KB}") DataSize maxEntrySize) {
+        this.cache = cache;
+        this.environment = environment;
+        this.enabled = enabled;
+        this.maxEntryBytes = maxEntrySize.toBytes();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!enabled || route == null || request.getMethod() != HttpMethod.GET
+                || !request.getQueryParams().isEmpty() || !acceptsJson(request.getHeaders())) {
+            return chain.filter(exchange);
+        }
+        RoutePolicy policy = policies.computeIfAbsent(route.getId(), this::loadPolicy).orElse(null);
+        if (policy == null) {
+            return chain.filter(exchange);
+        }
+        PathPattern.PathMatchInfo match = policy.path().matchAndExtract(request.getPath().pathWithinApplication());
+        if (match == null || !match.getUriVariables().containsKey("id")) {
+            return chain.filter(exchange);
+        }
+        String requestCacheControl = String.join(",", request.getHeaders().getOrEmpty(HttpHeaders.CACHE_CONTROL));
+        if (requestCacheControl.contains("no-store")) {
+            return chain.filter(exchange);
+        }
+
+        ResponseCache.Key key = new ResponseCache.Key(route.getId(), match.getUriVariables().get("id"));
+        if (!requestCacheControl.contains("no-cache")) {
+            CachedResponse cached = cache.get(key);
+            if (cached != null) {
+                return writeCached(exchange, cached);
+            }
+        }
+        long startEpoch = cache.epoch();
+        ServerHttpResponse response = exchange.getResponse();
+        ServerHttpResponseDecorator caching = new ServerHttpResponseDecorator(response) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (!isCacheable(getDelegate())) {
+                    return super.writeWith(body);
+                }
+                // Dužina (chunked) odgovora nije unapred poznata: telo se skuplja dok ne pređe maxEntryBytes,
+                // a veće se prosleđuje klijentu bez keširanja
+                AtomicLong size = new AtomicLong();
+                return Flux.from(body)
+                        .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxEntryBytes)
+                        .switchOnFirst((first, chunks) -> {
+                            Flux<DataBuffer> buffers = chunks.flatMapIterable(Function.identity());
+                            if (size.get() > maxEntryBytes) {
+                                return super.writeWith(buffers);
+                            }
+                            return DataBufferUtils.join(buffers).flatMap(joined -> {
+                                byte[] bytes = new byte[joined.readableByteCount()];
+                                joined.read(bytes);
+                                DataBufferUtils.release(joined);
+                                CachedResponse stored = store(key, getDelegate(), bytes, policy.ttl(), startEpoch);
+                                getHeaders().setETag(stored.etag());
+                                getHeaders().set(CACHE_HEADER, "MISS");
+                                if (notModified(request, stored)) {
+                                    return sendNotModified(getDelegate(), stored);
+                                }
+                                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                            });
+                        })
+                        .then();
+            }
+        };
+        return chain.filter(exchange.mutate().response(caching).build());
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private Optional<RoutePolicy> loadPolicy(String routeId) {
+        String prefix = "gateway.cache.routes." + routeId + ".";
+        String path = environment.getProperty(prefix + "path");
+        Duration ttl = DurationStyle.detectAndParse(environment.getProperty(prefix + "ttl", "0s"));
+        if (path == null || ttl.isZero() || ttl.isNegative()) {
+            return Optional.empty();
+        }
+        return Optional.of(new RoutePolicy(PathPatternParser.defaultInstance.parse(path), ttl));
+    }
+
+    private boolean isCacheable(ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        String cacheControl = String.join(",", headers.getOrEmpty(HttpHeaders.CACHE_CONTROL));
+        return HttpStatus.OK.equals(response.getStatusCode())
+                && !cacheControl.contains("no-store") && !cacheControl.contains("private")
+                && !cacheControl.contains("no-cache")
+                && !headers.containsKey(HttpHeaders.SET_COOKIE)
+                && headers.getContentLength() <= maxEntryBytes;
+    }
+
+    private CachedResponse store(ResponseCache.Key key, ServerHttpResponse response, byte[] body,
+                                 Duration routeTtl, long startEpoch) {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (NOT_STORED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.put(name, List.copyOf(values));
+            }
+        });
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        headers.setETag(etag);
+        CachedResponse cached = new CachedResponse(headers, body, etag, System.nanoTime(), effectiveTtl(headers, routeTtl));
+        cache.put(key, cached, startEpoch);
+        return cached;
+    }
+
+    private static Duration effectiveTtl(HttpHeaders headers, Duration routeTtl) {
+        Matcher maxAge = MAX_AGE.matcher(String.join(",", headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)));
+        if (maxAge.find()) {
+            Duration upstream = Duration.ofSeconds(Long.parseLong(maxAge.group(1)));
+            return upstream.compareTo(routeTtl) < 0 ? upstream : routeTtl;
+        }
+        return routeTtl;
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        cache.recordServedFromCache(cached.body().length);
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds()));
+        response.getHeaders().set(CACHE_HEADER, "HIT");
+        if (notModified(exchange.getRequest(), cached)) {
+            return sendNotModified(response, cached);
+        }
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private boolean notModified(ServerHttpRequest request, CachedResponse cached) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        return ifNoneMatch.contains(cached.etag()) || ifNoneMatch.contains("*");
+    }
+
+    private Mono<Void> sendNotModified(ServerHttpResponse response, CachedResponse cached) {
+        cache.recordNotModified(cached.body().length);
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+        response.getHeaders().setContentLength(0);
+        return response.setComplete();
+    }
+
+    private static boolean acceptsJson(HttpHeaders headers) {
+        List<MediaType> accept = headers.getAccept();
+        return accept.isEmpty() || accept.stream().anyMatch(type -> type.isCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
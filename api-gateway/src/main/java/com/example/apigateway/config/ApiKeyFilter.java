@@ -1,6 +1,7 @@
 package com.example.apigateway.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.example.apigateway.auth.ApiKeyRegistry;
+import com.example.apigateway.ratelimit.RateLimitFilter;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
@@ -11,22 +12,31 @@ import reactor.core.publisher.Mono;
 @Component
 public class ApiKeyFilter implements GlobalFilter, Ordered {
 
-    @Value("${gateway.api.key}")
-    private String apiKey;
+    public static final String API_KEY_HEADER = "X-API-KEY";
+    // ID klijenta za filtere posle ovog (rate limiting, metrike)
+    public static final String CLIENT_ID_ATTR = ApiKeyFilter.class.getName() + ".clientId";
+
+    private final ApiKeyRegistry registry;
+
+    public ApiKeyFilter(ApiKeyRegistry registry) {
+        this.registry = registry;
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, org.springframework.cloud.gateway.filter.GatewayFilterChain chain) {
-        String requestKey = exchange.getRequest().getHeaders().getFirst("X-API-KEY");
+        String clientId = registry.resolve(exchange.getRequest().getHeaders().getFirst(API_KEY_HEADER));
 
-        if (requestKey == null || !requestKey.equals(apiKey)) {
+        if (clientId == null) {
             exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
             return exchange.getResponse().setComplete();
         }
+        exchange.getAttributes().put(CLIENT_ID_ATTR, clientId);
         return chain.filter(exchange);
     }
 
+    // Pre rate limiting-a i keša: oba koriste ID klijenta, a keširani odgovori se ne služe zahtevima bez ključa
     @Override
     public int getOrder() {
-        return -1;
+        return RateLimitFilter.ORDER - 1;
     }
-}
\ No newline at end of file
+}
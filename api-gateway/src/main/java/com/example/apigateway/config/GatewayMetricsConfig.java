@@ -0,0 +1,16 @@
+package com.example.apigateway.config;
+
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cloud.gateway.support.tagsprovider.GatewayTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class GatewayMetricsConfig {
+
+    // spring.cloud.gateway.requests dobija tag clientId (odbijeni zahtevi: "anonymous")
+    @Bean
+    public GatewayTagsProvider clientIdTagsProvider() {
+        return exchange -> Tags.of("clientId", exchange.getAttributeOrDefault(ApiKeyFilter.CLIENT_ID_ATTR, "anonymous"));
+    }
+}
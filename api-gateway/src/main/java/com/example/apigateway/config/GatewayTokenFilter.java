@@ -0,0 +1,35 @@
+package com.example.apigateway.config;
+
+import com.example.gatewayauth.GatewayToken;
+import com.example.gatewayauth.GatewayTokenSigner;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Svaki prosleđen zahtev nosi potpisani gateway token; token koji je poslao klijent se prepisuje.
+ */
+@Component
+public class GatewayTokenFilter implements GlobalFilter, Ordered {
+
+    private final GatewayTokenSigner signer;
+
+    public GatewayTokenFilter(GatewayTokenSigner signer) {
+        this.signer = signer;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return chain.filter(exchange.mutate()
+                .request(request -> request.headers(headers -> headers.set(GatewayToken.HEADER, signer.currentToken())))
+                .build());
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+}
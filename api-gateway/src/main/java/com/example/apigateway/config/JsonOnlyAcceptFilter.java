@@ -0,0 +1,44 @@
+package com.example.apigateway.config;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Smile i CBOR su samo za pozive između servisa: iz Accept-a spoljnog klijenta se uklanjaju (ostaje JSON),
+ * pa ni keš gateway-a ne može da sačuva binarni odgovor.
+ */
+@Component
+public class JsonOnlyAcceptFilter implements GlobalFilter, Ordered {
+
+    private static final List<MediaType> INTERNAL_TYPES = List.of(
+            new MediaType("application", "x-jackson-smile"), MediaType.APPLICATION_CBOR);
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        List<MediaType> accept = exchange.getRequest().getHeaders().getAccept();
+        if (accept.stream().noneMatch(JsonOnlyAcceptFilter::isInternal)) {
+            return chain.filter(exchange);
+        }
+        List<MediaType> external = accept.stream().filter(type -> !isInternal(type)).toList();
+        return chain.filter(exchange.mutate()
+                .request(request -> request.headers(headers ->
+                        headers.setAccept(external.isEmpty() ? List.of(MediaType.APPLICATION_JSON) : external)))
+                .build());
+    }
+
+    private static boolean isInternal(MediaType type) {
+        return INTERNAL_TYPES.stream().anyMatch(type::equalsTypeAndSubtype);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.apigateway.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.JacksonUtils;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitConfig {
+
+    public static final String USERS_EVENTS_EXCHANGE = "users.events";
+    public static final String ORDERS_EVENTS_EXCHANGE = "orders.events";
+
+    // Svaka instanca gateway-a dobija sopstvene redove da bi očistila svoj keš odgovora
+    @Bean
+    public FanoutExchange usersEventsExchange() {
+        return new FanoutExchange(USERS_EVENTS_EXCHANGE);
+    }
+
+    @Bean
+    public FanoutExchange ordersEventsExchange() {
+        return new FanoutExchange(ORDERS_EVENTS_EXCHANGE);
+    }
+
+    @Bean
+    public Queue userChangedQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Queue orderChangedQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding userChangedBinding(Queue userChangedQueue, FanoutExchange usersEventsExchange) {
+        return BindingBuilder.bind(userChangedQueue).to(usersEventsExchange);
+    }
+
+    @Bean
+    public Binding orderChangedBinding(Queue orderChangedQueue, FanoutExchange ordersEventsExchange) {
+        return BindingBuilder.bind(orderChangedQueue).to(ordersEventsExchange);
+    }
+
+    // orders-service šalje chunk masovnog unosa kao JSON niz; pojedinačan događaj se prima kao lista od jednog
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper()
+                .enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+        return new Jackson2JsonMessageConverter(objectMapper);
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.apigateway.event;
+
+public record OrderChangedEvent(Long orderId, Type type) {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+}
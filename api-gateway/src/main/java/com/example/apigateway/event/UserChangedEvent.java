@@ -0,0 +1,6 @@
+package com.example.apigateway.event;
+
+public record UserChangedEvent(Long userId, Type type) {
+
+    public enum Type { UPDATED, DELETED }
+}
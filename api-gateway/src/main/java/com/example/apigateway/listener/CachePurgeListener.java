@@ -0,0 +1,51 @@
+package com.example.apigateway.listener;
+
+import com.example.apigateway.cache.ResponseCache;
+import com.example.apigateway.event.OrderChangedEvent;
+import com.example.apigateway.event.UserChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Briše keširane odgovore kada users-service ili orders-service objave izmenu/brisanje.
+ * Posle (ponovnog) uspostavljanja veze sa RabbitMQ-om ceo keš se prazni, jer su događaji
+ * dok veza nije postojala mogli biti propušteni.
+ */
+@Component
+public class CachePurgeListener {
+
+    // ID-jevi ruta iz application.properties
+    public static final String USERS_ROUTE = "users-service";
+    public static final String ORDERS_ROUTE = "orders-service";
+
+    private static final Logger log = LoggerFactory.getLogger(CachePurgeListener.class);
+    private final ResponseCache responseCache;
+
+    public CachePurgeListener(ResponseCache responseCache, ConnectionFactory connectionFactory) {
+        this.responseCache = responseCache;
+        connectionFactory.addConnectionListener(connection -> {
+            log.info("🔌 [RabbitMQ] Connected — clearing gateway response cache");
+            responseCache.purgeAll();
+        });
+    }
+
+    @RabbitListener(queues = "#{userChangedQueue.name}")
+    public void handleUserChanged(UserChangedEvent event) {
+        log.debug("📬 [RabbitMQ] User {} {} — purging cached response", event.userId(), event.type());
+        responseCache.purge(USERS_ROUTE, event.userId());
+    }
+
+    // Poruka nosi jedan događaj ili niz događaja (chunk masovnog unosa)
+    @RabbitListener(queues = "#{orderChangedQueue.name}")
+    public void handleOrderChanged(List<OrderChangedEvent> events) {
+        for (OrderChangedEvent event : events) {
+            log.debug("📬 [RabbitMQ] Order {} {} — purging cached response", event.orderId(), event.type());
+            responseCache.purge(ORDERS_ROUTE, event.orderId());
+        }
+    }
+}
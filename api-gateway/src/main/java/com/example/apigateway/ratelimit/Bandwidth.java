@@ -0,0 +1,23 @@
+package com.example.apigateway.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket: {@code replenishRate} tokena u sekundi, najviše {@code burstCapacity} odjednom.
+ */
+public record Bandwidth(int replenishRate, int burstCapacity) {
+
+    public Bandwidth {
+        if (replenishRate <= 0 || burstCapacity <= 0) {
+            throw new IllegalArgumentException("Rate limit must be positive: " + replenishRate + "/s, burst " + burstCapacity);
+        }
+    }
+
+    public long emissionIntervalNanos() {
+        return TimeUnit.SECONDS.toNanos(1) / replenishRate;
+    }
+
+    public long burstToleranceNanos() {
+        return emissionIntervalNanos() * burstCapacity;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Bucket-i u memoriji, bez zaključavanja. Stanje bucket-a je jedan {@code long}: teorijsko vreme
+ * dolaska sledećeg zahteva (GCRA, ekvivalent token bucket-u), koje se menja jednim CAS-om.
+ * Bucket-i koji miruju duže od {@code idleTimeout} se uklanjaju (tada su ionako puni).
+ */
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier clock;
+
+    public LocalRateLimitStore(long maximumBuckets, Duration idleTimeout) {
+        this(maximumBuckets, idleTimeout, System::nanoTime);
+    }
+
+    LocalRateLimitStore(long maximumBuckets, Duration idleTimeout, LongSupplier clock) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumBuckets)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.clock = clock;
+    }
+
+    @Override
+    public long tryConsume(String key, Bandwidth bandwidth) {
+        AtomicLong theoreticalArrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long emission = bandwidth.emissionIntervalNanos();
+        long tolerance = bandwidth.burstToleranceNanos();
+        while (true) {
+            long now = clock.getAsLong();
+            long current = theoreticalArrival.get();
+            long next = (current == Long.MIN_VALUE || current - now < 0 ? now : current) + emission;
+            long wait = next - tolerance - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
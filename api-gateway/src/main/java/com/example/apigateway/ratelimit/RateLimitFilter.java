@@ -0,0 +1,116 @@
+package com.example.apigateway.ratelimit;
+
+import com.example.apigateway.cache.ResponseCacheFilter;
+import com.example.apigateway.config.ApiKeyFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket po paru (klijent, ruta), posle {@link ApiKeyFilter}-a i pre keša odgovora:
+ * <pre>
+ * gateway.rate-limit.routes.orders-service.replenish-rate=200
+ * gateway.rate-limit.routes.orders-service.burst-capacity=400
+ * </pre>
+ * Rute bez podešavanja koriste {@code gateway.rate-limit.default.*}. Odbijen zahtev dobija 429 sa
+ * {@code Retry-After} (sekunde) i broji se u {@code gateway.ratelimit.rejected} (tagovi clientId, routeId).
+ * Bucket-i su u {@link LocalRateLimitStore}-u, osim ako postoji bean {@link RateLimitStore} (deljeno skladište).
+ * Ako skladište nije dostupno, zahtev se propušta (fail open).
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = ResponseCacheFilter.ORDER - 1;
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimitStore store;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Map<String, Optional<Bandwidth>> bandwidths = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateLimitFilter(ObjectProvider<RateLimitStore> sharedStore, Environment environment, MeterRegistry meterRegistry,
+                           @Value("${gateway.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${gateway.rate-limit.local.maximum-buckets:100000}") long maximumBuckets,
+                           @Value("${gateway.rate-limit.local.idle-timeout:10m}") Duration idleTimeout) {
+        this(sharedStore.getIfAvailable(() -> new LocalRateLimitStore(maximumBuckets, idleTimeout)),
+                environment, meterRegistry, enabled);
+    }
+
+    RateLimitFilter(RateLimitStore store, Environment environment, MeterRegistry meterRegistry, boolean enabled) {
+        this.store = store;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String clientId = exchange.getAttribute(ApiKeyFilter.CLIENT_ID_ATTR);
+        if (!enabled || route == null || clientId == null) {
+            return chain.filter(exchange);
+        }
+        Bandwidth bandwidth = bandwidths.computeIfAbsent(route.getId(), this::loadBandwidth).orElse(null);
+        if (bandwidth == null) {
+            return chain.filter(exchange);
+        }
+
+        long waitNanos;
+        try {
+            waitNanos = store.tryConsume(clientId + '|' + route.getId(), bandwidth);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Rate limit store unavailable — allowing request: {}", e.getMessage());
+            meterRegistry.counter("gateway.ratelimit.store.errors").increment();
+            return chain.filter(exchange);
+        }
+        if (waitNanos == 0) {
+            return chain.filter(exchange);
+        }
+
+        meterRegistry.counter("gateway.ratelimit.rejected", "clientId", clientId, "routeId", route.getId()).increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return exchange.getResponse().setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private Optional<Bandwidth> loadBandwidth(String routeId) {
+        String prefix = "gateway.rate-limit.routes." + routeId + ".";
+        Integer rate = environment.getProperty(prefix + "replenish-rate", Integer.class,
+                environment.getProperty("gateway.rate-limit.default.replenish-rate", Integer.class));
+        Integer burst = environment.getProperty(prefix + "burst-capacity", Integer.class,
+                environment.getProperty("gateway.rate-limit.default.burst-capacity", Integer.class));
+        if (rate == null || rate <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new Bandwidth(rate, burst == null ? rate : burst));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.apigateway.ratelimit;
+
+/**
+ * Skladište token bucket-a. Podrazumevano je {@link LocalRateLimitStore} (po instanci gateway-a);
+ * deljeno skladište (npr. Redis) za više instanci se uključuje registrovanjem bean-a ovog tipa.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Pokušava da uzme jedan token iz bucket-a {@code key}.
+     *
+     * @return 0 ako je token uzet, inače koliko nanosekundi treba čekati na sledeći
+     */
+    long tryConsume(String key, Bandwidth bandwidth);
+}
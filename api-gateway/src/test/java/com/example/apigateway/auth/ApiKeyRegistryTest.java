@@ -0,0 +1,59 @@
+package com.example.apigateway.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiKeyRegistryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void resolvesClientIdOfHashedAndPlaintextKeys() throws IOException {
+        Path keys = writeKeys(dir.resolve("keys.properties"), "partner-a=" + hash("key-a") + "\npartner-b=" + hash("key-b"));
+        ApiKeyRegistry registry = new ApiKeyRegistry(new SimpleMeterRegistry(), "tajni123", keys.toString());
+
+        assertEquals(3, registry.size());
+        assertEquals("partner-a", registry.resolve("key-a"));
+        assertEquals("partner-b", registry.resolve("key-b"));
+        assertEquals(ApiKeyRegistry.DEFAULT_CLIENT_ID, registry.resolve("tajni123"));
+        assertNull(registry.resolve("key-c"));
+        assertNull(registry.resolve("ključ"));
+        assertNull(registry.resolve(null));
+    }
+
+    @Test
+    void reloadsChangedFile_andKeepsPreviousKeysWhenFileIsInvalid() throws IOException {
+        Path keys = writeKeys(dir.resolve("keys.properties"), "partner-a=" + hash("key-a"));
+        ApiKeyRegistry registry = new ApiKeyRegistry(new SimpleMeterRegistry(), "", keys.toString());
+
+        writeKeys(keys, "partner-b=" + hash("key-b"));
+        Files.setLastModifiedTime(keys, FileTime.from(Instant.now().plusSeconds(1)));
+        registry.reloadIfChanged();
+        assertNull(registry.resolve("key-a"));
+        assertEquals("partner-b", registry.resolve("key-b"));
+
+        writeKeys(keys, "partner-c=nije-hash");
+        Files.setLastModifiedTime(keys, FileTime.from(Instant.now().plusSeconds(2)));
+        registry.reloadIfChanged();
+        assertEquals("partner-b", registry.resolve("key-b"));
+    }
+
+    private static Path writeKeys(Path file, String content) throws IOException {
+        return Files.writeString(file, content);
+    }
+
+    private static String hash(String key) {
+        return HexFormat.of().formatHex(ApiKeyRegistry.sha256(key));
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.apigateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "{\"id\":5,\"name\":\"Ana\",\"email\":\"ana@example.com\"}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseCache cache;
+    private ResponseCacheFilter filter;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final GatewayFilterChain upstream = exchange -> {
+        upstreamCalls.incrementAndGet();
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ResponseCache(meterRegistry, DataSize.ofMegabytes(1));
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("gateway.cache.routes.users-service.path", "/api/users/{id}")
+                .withProperty("gateway.cache.routes.users-service.ttl", "30s");
+        filter = new ResponseCacheFilter(cache, environment, true, DataSize.ofKilobytes(256));
+    }
+
+    @Test
+    void secondGet_isServedFromCache_andPurgeForcesRefetch() {
+        MockServerWebExchange first = get("/api/users/5");
+        filter.filter(first, upstream).block();
+        MockServerWebExchange second = get("/api/users/5");
+        filter.filter(second, upstream).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals(first.getResponse().getHeaders().getETag(), second.getResponse().getHeaders().getETag());
+        assertEquals(BODY.length(), meterRegistry.get("gateway.cache.bytes.saved").tag("leg", "upstream").counter().count());
+
+        cache.purge("users-service", 5L);
+        filter.filter(get("/api/users/5"), upstream).block();
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void matchingIfNoneMatch_returnsNotModified() {
+        MockServerWebExchange first = get("/api/users/5");
+        filter.filter(first, upstream).block();
+        String etag = first.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange revalidation = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users/5")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        revalidation.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route());
+        filter.filter(revalidation, upstream).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidation.getResponse().getStatusCode());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void responsesThatAreNotCacheable_alwaysGoUpstream() {
+        GatewayFilterChain noStore = exchange -> {
+            exchange.getResponse().getHeaders().setCacheControl("no-store");
+            return upstream.filter(exchange);
+        };
+        filter.filter(get("/api/users/5"), noStore).block();
+        filter.filter(get("/api/users/5"), noStore).block();
+        filter.filter(get("/api/users"), upstream).block();
+        filter.filter(get("/api/users"), upstream).block();
+
+        assertEquals(4, upstreamCalls.get());
+    }
+
+    @Test
+    void chunkedBodyOverMaxEntrySize_isPassedThroughUncached() {
+        byte[] chunk = new byte[64 * 1024];
+        Arrays.fill(chunk, (byte) 'a');
+        GatewayFilterChain chunked = exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return exchange.getResponse().writeWith(Flux.range(0, 5)
+                    .map(i -> exchange.getResponse().bufferFactory().wrap(chunk)));
+        };
+
+        MockServerWebExchange first = get("/api/users/5");
+        filter.filter(first, chunked).block();
+        filter.filter(get("/api/users/5"), chunked).block();
+
+        assertEquals(HttpStatus.OK, first.getResponse().getStatusCode());
+        assertEquals(5 * chunk.length, first.getResponse().getBodyAsString().block().length());
+        assertNull(first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private static MockServerWebExchange get(String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route());
+        return exchange;
+    }
+
+    private static Route route() {
+        return Route.async().id("users-service").uri(URI.create("lb://USERS-SERVICE"))
+                .predicate(exchange -> true).build();
+    }
+}
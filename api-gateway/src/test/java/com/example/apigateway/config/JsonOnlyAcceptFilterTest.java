@@ -0,0 +1,42 @@
+package com.example.apigateway.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JsonOnlyAcceptFilterTest {
+
+    private final JsonOnlyAcceptFilter filter = new JsonOnlyAcceptFilter();
+    private final AtomicReference<List<MediaType>> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain upstream = exchange -> {
+        forwarded.set(exchange.getRequest().getHeaders().getAccept());
+        return Mono.empty();
+    };
+
+    @Test
+    void binaryOnlyAccept_isReplacedWithJson() {
+        filter.filter(exchange("application/x-jackson-smile"), upstream).block();
+
+        assertEquals(List.of(MediaType.APPLICATION_JSON), forwarded.get());
+    }
+
+    @Test
+    void otherTypes_arePassedThroughWithoutBinaryOnes() {
+        filter.filter(exchange("application/cbor, application/json;q=0.5, text/plain;q=0.1"), upstream).block();
+
+        assertEquals(MediaType.parseMediaTypes("application/json;q=0.5, text/plain;q=0.1"), forwarded.get());
+    }
+
+    private static MockServerWebExchange exchange(String accept) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/users/5").header(HttpHeaders.ACCEPT, accept));
+    }
+}
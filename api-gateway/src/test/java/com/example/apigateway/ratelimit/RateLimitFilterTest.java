@@ -0,0 +1,85 @@
+package com.example.apigateway.ratelimit;
+
+import com.example.apigateway.config.ApiKeyFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final GatewayFilterChain upstream = exchange -> {
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        return Mono.empty();
+    };
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("gateway.rate-limit.routes.orders-service.replenish-rate", "2")
+                .withProperty("gateway.rate-limit.routes.orders-service.burst-capacity", "3");
+        RateLimitStore store = new LocalRateLimitStore(1000, Duration.ofMinutes(1), clock::get);
+        filter = new RateLimitFilter(store, environment, meterRegistry, true);
+    }
+
+    @Test
+    void burstIsAllowed_thenRejectedWithRetryAfter_untilTokensRefill() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.OK, send("partner-a"));
+        }
+        MockServerWebExchange rejected = exchange("partner-a");
+        filter.filter(rejected, upstream).block();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("gateway.ratelimit.rejected")
+                .tag("clientId", "partner-a").tag("routeId", "orders-service").counter().count());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(HttpStatus.OK, send("partner-a"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, send("partner-a"));
+    }
+
+    @Test
+    void clientsHaveSeparateBuckets() {
+        for (int i = 0; i < 3; i++) {
+            send("partner-a");
+        }
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, send("partner-a"));
+        assertEquals(HttpStatus.OK, send("partner-b"));
+    }
+
+    private HttpStatus send(String clientId) {
+        MockServerWebExchange exchange = exchange(clientId);
+        filter.filter(exchange, upstream).block();
+        return (HttpStatus) exchange.getResponse().getStatusCode();
+    }
+
+    private static MockServerWebExchange exchange(String clientId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/orders/1"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async().id("orders-service")
+                .uri(URI.create("lb://ORDERS-SERVICE")).predicate(e -> true).build());
+        exchange.getAttributes().put(ApiKeyFilter.CLIENT_ID_ATTR, clientId);
+        return exchange;
+    }
+}
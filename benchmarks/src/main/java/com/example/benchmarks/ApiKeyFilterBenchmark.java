@@ -0,0 +1,100 @@
+package com.example.benchmarks;
+
+import com.example.apigateway.auth.ApiKeyRegistry;
+import com.example.apigateway.config.ApiKeyFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiKeyFilter.filter za ispravan, pogrešan i nedostajući ključ, sa 1 i 1000 registrovanih ključeva.
+ * Odbijeni zahtevi menjaju odgovor, pa se za njih exchange pravi u svakoj iteraciji; newExchange
+ * meri samo taj trošak. Uz {@code -prof gc} se vidi da sama provera ključa ne alocira.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiKeyFilterBenchmark {
+
+    private static final String API_KEY = "tajni123";
+
+    @Param({"1", "1000"})
+    public int keys;
+
+    private final GatewayFilterChain chain = exchange -> Mono.empty();
+
+    private ApiKeyRegistry registry;
+    private ApiKeyFilter filter;
+    private ServerWebExchange validExchange;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path keysFile = Files.createTempFile("api-keys", ".properties");
+        StringBuilder lines = new StringBuilder();
+        for (int i = 1; i < keys; i++) {
+            lines.append("partner-").append(i).append('=')
+                    .append(HexFormat.of().formatHex(ApiKeyRegistry.sha256("partner-key-" + i))).append('\n');
+        }
+        Files.writeString(keysFile, lines);
+        registry = new ApiKeyRegistry(new SimpleMeterRegistry(), API_KEY, keysFile.toString());
+        filter = new ApiKeyFilter(registry);
+        Files.delete(keysFile);
+        validExchange = exchange(API_KEY);
+    }
+
+    @Benchmark
+    public String resolveKey() {
+        return registry.resolve(API_KEY);
+    }
+
+    @Benchmark
+    public Void validKey() {
+        return filter.filter(validExchange, chain).block();
+    }
+
+    @Benchmark
+    public Void wrongKey() {
+        return filter.filter(exchange("pogresan"), chain).block();
+    }
+
+    @Benchmark
+    public Void missingKey() {
+        return filter.filter(exchange(null), chain).block();
+    }
+
+    @Benchmark
+    public ServerWebExchange newExchange() {
+        return exchange("pogresan");
+    }
+
+    private static ServerWebExchange exchange(String apiKey) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/orders");
+        if (apiKey != null) {
+            request.header("X-API-KEY", apiKey);
+        }
+        return MockServerWebExchange.from(request);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.benchmarks;
+
+import com.example.ordersservice.model.Order;
+import com.example.usersservice.DTO.UserDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON vs Smile vs CBOR za payload-e između servisa: jedan UserDTO (GET /users/{id}), 100 UserDTO
+ * (POST /users/batch) i 100 Order-a. ObjectMapper-i se prave istim builder-om kao u Spring Boot-u.
+ * Veličine payload-a se ispisuju u setup fazi.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    private static final TypeReference<List<UserDTO>> USER_LIST = new TypeReference<>() {};
+    private static final TypeReference<List<Order>> ORDER_LIST = new TypeReference<>() {};
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private UserDTO user;
+    private List<UserDTO> users;
+    private List<Order> orders;
+    private byte[] userPayload;
+    private byte[] usersPayload;
+    private byte[] ordersPayload;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> throw new IllegalArgumentException(format);
+        };
+        user = new UserDTO(42L, "Korisnik 42", "user42@example.com");
+        users = new ArrayList<>(100);
+        orders = new ArrayList<>(100);
+        for (long i = 1; i <= 100; i++) {
+            users.add(new UserDTO(i, "Korisnik " + i, "user" + i + "@example.com"));
+            orders.add(new Order(i, i % 10, "Proizvod " + i, BigDecimal.valueOf(1999 + i, 2)));
+        }
+        userPayload = writeUser();
+        usersPayload = writeUsers();
+        ordersPayload = writeOrders();
+        System.out.printf("%nPayload size (bytes, %s): user=%d, 100 users=%d, 100 orders=%d%n",
+                format, userPayload.length, usersPayload.length, ordersPayload.length);
+    }
+
+    @Benchmark
+    public byte[] writeUser() throws Exception {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public UserDTO readUser() throws Exception {
+        return objectMapper.readValue(userPayload, UserDTO.class);
+    }
+
+    @Benchmark
+    public byte[] writeUsers() throws Exception {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public List<UserDTO> readUsers() throws Exception {
+        return objectMapper.readValue(usersPayload, USER_LIST);
+    }
+
+    @Benchmark
+    public byte[] writeOrders() throws Exception {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public List<Order> readOrders() throws Exception {
+        return objectMapper.readValue(ordersPayload, ORDER_LIST);
+    }
+}
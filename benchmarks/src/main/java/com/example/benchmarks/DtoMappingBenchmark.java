@@ -0,0 +1,63 @@
+package com.example.benchmarks;
+
+import com.example.ordersservice.DTO.OrderDTO;
+import com.example.ordersservice.mapper.OrderMapper;
+import com.example.ordersservice.model.Order;
+import com.example.usersservice.DTO.UserDTO;
+import com.example.usersservice.model.User;
+import com.example.usersservice.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapiranje entitet ↔ DTO: OrderMapper (statički) i UserService. UserService se pravi bez zavisnosti,
+ * jer mapiranje ne koristi repozitorijum ni publisher.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private UserService userService;
+    private Order order;
+    private OrderDTO orderDTO;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        userService = new UserService(null, null);
+        order = new Order(42L, 7L, "Mehanička tastatura", new BigDecimal("129.99"));
+        orderDTO = OrderMapper.toDTO(order);
+        user = new User("Ana Anić", "ana@example.com", "Lozinka123");
+        user.setId(7L);
+    }
+
+    @Benchmark
+    public OrderDTO orderToDTO() {
+        return OrderMapper.toDTO(order);
+    }
+
+    @Benchmark
+    public Order orderFromDTO() {
+        return OrderMapper.fromDTO(orderDTO);
+    }
+
+    @Benchmark
+    public UserDTO userToDTO() {
+        return userService.toDTO(user);
+    }
+}
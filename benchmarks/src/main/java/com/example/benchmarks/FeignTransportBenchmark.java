@@ -0,0 +1,128 @@
+package com.example.benchmarks;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.coyote.http2.Http2Protocol;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Propusnost Feign transporta za GET /users/{id} ka lokalnom Tomcat-u (HTTP/1.1 + h2c, kao users-service):
+ * podrazumevani HttpURLConnection, Apache HttpClient 5 sa pool-om i JDK HttpClient preko HTTP/2.
+ * 8 niti paralelno, kao više istovremenih zahteva ka istoj instanci; meri se ceo poziv uz čitanje tela.
+ * keepAliveRequests=100 je podrazumevani Tomcat (server zatvara konekciju posle 100 zahteva), -1 je users-service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class FeignTransportBenchmark {
+
+    private static final byte[] USER_JSON = "{\"id\":1,\"name\":\"Korisnik 1\",\"email\":\"user1@example.com\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({"urlconnection", "hc5", "http2"})
+    public String transport;
+
+    @Param({"100", "-1"})
+    public String keepAliveRequests;
+
+    private final Request.Options options = new Request.Options(1, TimeUnit.SECONDS, 1, TimeUnit.SECONDS, true);
+
+    private Tomcat tomcat;
+    private CloseableHttpClient httpClient5;
+    private Client client;
+    private Request request;
+
+    @Setup
+    public void setUp() throws Exception {
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("tomcat").toString());
+        Connector connector = new Connector();
+        connector.setPort(0);
+        connector.setProperty("maxKeepAliveRequests", keepAliveRequests);
+        connector.addUpgradeProtocol(new Http2Protocol());
+        tomcat.setConnector(connector);
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "users", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                resp.setContentLength(USER_JSON.length);
+                resp.getOutputStream().write(USER_JSON);
+            }
+        });
+        context.addServletMappingDecoded("/users/*", "users");
+        tomcat.start();
+
+        client = switch (transport) {
+            case "urlconnection" -> new Client.Default(null, null);
+            case "hc5" -> {
+                httpClient5 = HttpClients.custom()
+                        .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                                .setMaxConnTotal(200)
+                                .setMaxConnPerRoute(50)
+                                .build())
+                        .disableCookieManagement()
+                        .build();
+                yield new ApacheHttp5Client(httpClient5);
+            }
+            case "http2" -> new Http2Client(HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build());
+            default -> throw new IllegalArgumentException(transport);
+        };
+        request = Request.create(Request.HttpMethod.GET,
+                "http://localhost:" + connector.getLocalPort() + "/users/1",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (httpClient5 != null) {
+            httpClient5.close();
+        }
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    @Benchmark
+    public byte[] getUser() throws IOException {
+        try (Response response = client.execute(request, options);
+             InputStream body = response.body().asInputStream()) {
+            return body.readAllBytes();
+        }
+    }
+}
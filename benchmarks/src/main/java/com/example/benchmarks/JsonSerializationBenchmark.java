@@ -0,0 +1,74 @@
+package com.example.benchmarks;
+
+import com.example.ordersservice.model.Order;
+import com.example.ordersservice.model.OrderDetails;
+import com.example.usersservice.DTO.UserDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serijalizacija listi koje vraćaju GET /orders, /orders/{id}/details i GET /users.
+ * ObjectMapper se pravi istim builder-om kao u Spring Boot-u.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<Order> orders;
+    private List<OrderDetails> orderDetails;
+    private List<UserDTO> users;
+
+    @Setup
+    public void setUp() {
+        orders = new ArrayList<>(size);
+        orderDetails = new ArrayList<>(size);
+        users = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            Order order = new Order(i, i % 100, "Proizvod " + i, BigDecimal.valueOf(1999 + i, 2));
+            orders.add(order);
+            orderDetails.add(new OrderDetails(order,
+                    new com.example.ordersservice.DTO.UserDTO(order.getUserId(), "Korisnik " + order.getUserId(), "user" + order.getUserId() + "@example.com")));
+            users.add(new UserDTO(i, "Korisnik " + i, "user" + i + "@example.com"));
+        }
+    }
+
+    @Benchmark
+    public byte[] orders() throws Exception {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] orderDetails() throws Exception {
+        return objectMapper.writeValueAsBytes(orderDetails);
+    }
+
+    @Benchmark
+    public byte[] users() throws Exception {
+        return objectMapper.writeValueAsBytes(users);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trošak logovanja po zahtevu pri 4 paralelne request niti:
+ * <ul>
+ *     <li>{@code sync-info} – ranije ponašanje: 4 INFO linije po zahtevu, sinhroni appender</li>
+ *     <li>{@code async-info} – iste 4 INFO linije kroz AsyncAppender (bez odbacivanja, backpressure)</li>
+ *     <li>{@code async-access} – novo ponašanje: chatter na DEBUG-u (isključen) + jedna access linija, async</li>
+ * </ul>
+ * Linije se pišu u privremeni fajl sa Spring Boot-ovim console pattern-om.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class LoggingOverheadBenchmark {
+
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%t] %-40.40logger{39} : %m%n";
+
+    @Param({"sync-info", "async-info", "async-access"})
+    public String mode;
+
+    private LoggerContext context;
+    private File logFile;
+    private Logger controllerLog;
+    private Logger serviceLog;
+    private Logger accessLog;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        logFile = Files.createTempFile("logging-benchmark", ".log").toFile();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.getAbsolutePath());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if (mode.startsWith("async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(false);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+        }
+
+        ch.qos.logback.classic.Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+
+        controllerLog = LoggerFactory.getLogger("com.example.ordersservice.controller.OrderController");
+        serviceLog = LoggerFactory.getLogger("com.example.ordersservice.service.OrderService");
+        accessLog = LoggerFactory.getLogger("access");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public void createOrderRequest() {
+        long userId = 42;
+        long orderId = 1_234;
+        if (mode.equals("async-access")) {
+            controllerLog.debug("🧾 Request to create new order for user ID {}", userId);
+            serviceLog.debug("🧾 Checking user ID {} via users-service...", userId);
+            serviceLog.debug("✅ User exists — saving order to database...");
+            controllerLog.debug("✅ Order created successfully with ID {}", orderId);
+            accessLog.info("method={} path={} route={} status={} duration_ms={} remote={}",
+                    "POST", "/orders", "/orders", 201, 3L, "127.0.0.1");
+        } else {
+            controllerLog.info("🧾 Request to create new order for user ID {}", userId);
+            serviceLog.info("🧾 Checking user ID {} via users-service...", userId);
+            serviceLog.info("✅ User exists — saving order to database...");
+            controllerLog.info("✅ Order created successfully with ID {}", orderId);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.benchmarks;
+
+import com.example.ordersservice.event.OrderCreatedEvent;
+import com.example.ordersservice.event.OrderCreatedEventCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Poredi stari tekstualni OrderCreated događaj, Jackson JSON i binarni format.
+ * Veličine poruka se ispisuju u setup fazi.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderEventEncodingBenchmark {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private OrderCreatedEvent event;
+    private byte[] stringPayload;
+    private byte[] jsonPayload;
+    private byte[] binaryPayload;
+
+    @Setup
+    public void setUp() throws Exception {
+        event = new OrderCreatedEvent(1_234_567L, 42L, "Mehanička tastatura", new BigDecimal("129.99"), Instant.now());
+        stringPayload = encodeString();
+        jsonPayload = encodeJson();
+        binaryPayload = encodeBinary();
+        System.out.printf("%nPayload size (bytes): string=%d, json=%d, binary=%d%n",
+                stringPayload.length, jsonPayload.length, binaryPayload.length);
+    }
+
+    @Benchmark
+    public byte[] encodeString() {
+        String message = "📦 Novi order kreiran! ID: " + event.orderId() +
+                ", UserID: " + event.userId() +
+                ", Proizvod: " + event.productName();
+        return message.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return OrderCreatedEventCodec.encode(List.of(event));
+    }
+
+    // Stari format nema šemu, pa potrošač mora da parsira tekst
+    @Benchmark
+    public long[] decodeString() {
+        String message = new String(stringPayload, StandardCharsets.UTF_8);
+        int idStart = message.indexOf("ID: ") + 4;
+        int idEnd = message.indexOf(',', idStart);
+        int userStart = message.indexOf("UserID: ", idEnd) + 8;
+        int userEnd = message.indexOf(',', userStart);
+        return new long[]{
+                Long.parseLong(message, idStart, idEnd, 10),
+                Long.parseLong(message, userStart, userEnd, 10)
+        };
+    }
+
+    @Benchmark
+    public OrderCreatedEvent decodeJson() throws Exception {
+        return objectMapper.readValue(jsonPayload, OrderCreatedEvent.class);
+    }
+
+    @Benchmark
+    public List<OrderCreatedEvent> decodeBinary() {
+        return OrderCreatedEventCodec.decode(binaryPayload);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stranica porudžbina jednog korisnika (GET /orders?userId=) nad H2 tabelom iste šeme kao orders-service,
+ * sa i bez idx_orders_user_id (user_id, id). Upit je isti SQL koji Hibernate generiše za
+ * {@code OrderRepository.findPageByUserId}; 10 000 korisnika, stranica od 20 redova.
+ * Sa indeksom se čita samo 20 redova i vreme ostaje ravno kako tabela raste; bez njega je to pun prolaz
+ * kroz tabelu i sortiranje.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class OrdersByUserQueryBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final String PAGE_SQL = "select id, user_id, product_name, price from orders "
+            + "where user_id = ? and id > ? order by user_id, id fetch first ? rows only";
+
+    @Param({"100000", "1000000", "2000000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private Connection connection;
+    private PreparedStatement page;
+
+    @Setup
+    public void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:orders-" + rows + "-" + indexed);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("create table orders (id bigint primary key, user_id bigint not null, "
+                    + "product_name varchar(255), price numeric(10,2))");
+            ddl.execute("insert into orders select x, mod(x, " + USERS + "), concat('Proizvod ', x), "
+                    + "cast(mod(x, 10000) as numeric(10,2)) / 100 + 1 from system_range(1, " + rows + ")");
+            if (indexed) {
+                ddl.execute("create index idx_orders_user_id on orders (user_id, id)");
+            }
+        }
+        page = connection.prepareStatement(PAGE_SQL);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        page.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Object[]> firstPage() throws Exception {
+        return page(ThreadLocalRandom.current().nextInt(USERS), 0L);
+    }
+
+    @Benchmark
+    public List<Object[]> pageAfterCursor() throws Exception {
+        return page(ThreadLocalRandom.current().nextInt(USERS), rows / 2);
+    }
+
+    private List<Object[]> page(long userId, long afterId) throws Exception {
+        page.setLong(1, userId);
+        page.setLong(2, afterId);
+        page.setInt(3, PAGE_SIZE);
+        List<Object[]> result = new ArrayList<>(PAGE_SIZE);
+        try (ResultSet rs = page.executeQuery()) {
+            while (rs.next()) {
+                result.add(new Object[]{rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getObject(4, BigDecimal.class)});
+            }
+        }
+        return result;
+    }
+}
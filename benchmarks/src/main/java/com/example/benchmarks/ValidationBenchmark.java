@@ -0,0 +1,78 @@
+package com.example.benchmarks;
+
+import com.example.ordersservice.model.Order;
+import com.example.usersservice.model.User;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation entiteta Order i User, za ispravan i neispravan unos
+ * (neispravan gradi poruke o greškama, što je skuplji put).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private Order validOrder;
+    private Order invalidOrder;
+    private User validUser;
+    private User invalidUser;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validOrder = new Order(null, 7L, "Mehanička tastatura", new BigDecimal("129.99"));
+        invalidOrder = new Order(null, null, "X", new BigDecimal("0.001"));
+        validUser = new User("Ana Anić", "ana@example.com", "Lozinka123");
+        invalidUser = new User("", "nije-email", "123");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Order>> validOrder() {
+        return validator.validate(validOrder);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Order>> invalidOrder() {
+        return validator.validate(invalidOrder);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<User>> validUser() {
+        return validator.validate(validUser);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<User>> invalidUser() {
+        return validator.validate(invalidUser);
+    }
+}
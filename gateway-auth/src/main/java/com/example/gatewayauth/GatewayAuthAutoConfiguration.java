@@ -0,0 +1,69 @@
+package com.example.gatewayauth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Svaki servis koji zavisi od modula dobija izdavača i proveru tokena; servlet servisi
+ * proveravaju token na svakom zahtevu, a Feign pozivi ga automatski šalju.
+ * <pre>
+ * microshop.gateway-token.secret=...   (ista vrednost u svim servisima, najmanje 32 bajta)
+ * microshop.gateway-token.ttl=5m
+ * </pre>
+ */
+@AutoConfiguration
+public class GatewayAuthAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public GatewayTokenSigner gatewayTokenSigner(@Value("${microshop.gateway-token.secret}") String secret,
+                                                 @Value("${spring.application.name}") String issuer,
+                                                 @Value("${microshop.gateway-token.ttl:5m}") Duration ttl) {
+        return new GatewayTokenSigner(secret, issuer, ttl, Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public GatewayTokenVerifier gatewayTokenVerifier(@Value("${microshop.gateway-token.secret}") String secret,
+                                                     @Value("${microshop.gateway-token.allowed-clock-skew:30s}") Duration skew,
+                                                     @Value("${microshop.gateway-token.verification-cache-size:1024}") int cacheSize) {
+        return new GatewayTokenVerifier(secret, skew, cacheSize, Clock.systemUTC());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(WebMvcConfigurer.class)
+    static class ServletConfiguration {
+
+        @Bean
+        public WebMvcConfigurer gatewayTokenCheck(GatewayTokenVerifier verifier) {
+            GatewayTokenInterceptor interceptor = new GatewayTokenInterceptor(verifier);
+            return new WebMvcConfigurer() {
+                @Override
+                public void addInterceptors(InterceptorRegistry registry) {
+                    registry.addInterceptor(interceptor);
+                }
+            };
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "feign.RequestInterceptor")
+    static class FeignConfiguration {
+
+        @Bean
+        public GatewayTokenFeignInterceptor gatewayTokenForwarder(GatewayTokenSigner signer) {
+            return new GatewayTokenFeignInterceptor(signer);
+        }
+    }
+}
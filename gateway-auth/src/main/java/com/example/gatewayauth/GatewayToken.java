@@ -0,0 +1,18 @@
+package com.example.gatewayauth;
+
+/**
+ * Format tokena: {@code v1.<izdavač>.<ističe, epoch sekunde>.<HMAC-SHA256, base64url>}, gde se
+ * potpisuje sve pre poslednje tačke. Izdavač je {@code spring.application.name} servisa koji je token napravio.
+ */
+public final class GatewayToken {
+
+    public static final String HEADER = "X-Gateway-Token";
+    static final String VERSION = "v1";
+
+    private GatewayToken() {
+    }
+
+    static String payload(String issuer, long expiresAtEpochSecond) {
+        return VERSION + '.' + issuer + '.' + expiresAtEpochSecond;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.gatewayauth;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+
+/**
+ * Dodaje token ovog servisa svakom Feign pozivu ka drugom servisu.
+ */
+public class GatewayTokenFeignInterceptor implements RequestInterceptor {
+
+    private final GatewayTokenSigner signer;
+
+    public GatewayTokenFeignInterceptor(GatewayTokenSigner signer) {
+        this.signer = signer;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        template.header(GatewayToken.HEADER, signer.currentToken());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.gatewayauth;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+
+/**
+ * Propušta samo zahteve sa ispravnim {@value GatewayToken#HEADER} tokenom (od gateway-a ili drugog servisa).
+ */
+public class GatewayTokenInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(GatewayTokenInterceptor.class);
+    private final GatewayTokenVerifier verifier;
+
+    public GatewayTokenInterceptor(GatewayTokenVerifier verifier) {
+        this.verifier = verifier;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest req, HttpServletResponse res, Object handler) throws IOException {
+        if (!verifier.verify(req.getHeader(GatewayToken.HEADER))) {
+            res.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            res.getWriter().write("401 Unauthorized – Access only through API Gateway");
+            log.warn("❌ Unauthorized access attempt: {}", req.getRequestURI());
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.gatewayauth;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Izdaje kratkotrajne tokene. Isti token se koristi za sve zahteve dok ne prođe pola
+ * njegovog trajanja, pa se potpisuje nekoliko puta po TTL-u umesto za svaki zahtev.
+ */
+public class GatewayTokenSigner {
+
+    private record Issued(String value, long refreshAtMillis) {
+    }
+
+    private final Hmac hmac;
+    private final String issuer;
+    private final Duration ttl;
+    private final Clock clock;
+    private volatile Issued current = new Issued(null, Long.MIN_VALUE);
+
+    public GatewayTokenSigner(String secret, String issuer, Duration ttl, Clock clock) {
+        if (issuer.isBlank() || issuer.indexOf('.') >= 0) {
+            throw new IllegalArgumentException("Token issuer must be non-empty and must not contain '.': " + issuer);
+        }
+        this.hmac = new Hmac(secret);
+        this.issuer = issuer;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public String currentToken() {
+        Issued issued = current;
+        long now = clock.millis();
+        if (now >= issued.refreshAtMillis()) {
+            long expiresAt = (now + ttl.toMillis()) / 1000;
+            String payload = GatewayToken.payload(issuer, expiresAt);
+            String signature = Base64.getUrlEncoder().withoutPadding().encodeToString(hmac.sign(payload));
+            issued = new Issued(payload + '.' + signature, now + ttl.toMillis() / 2);
+            current = issued;
+        }
+        return issued.value();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.gatewayauth;
+
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Proverava potpis i rok tokena. Izdavači koriste isti token više minuta, pa se već provereni
+ * tokeni pamte do isteka i sledeća provera je jedno čitanje iz mape umesto HMAC-a.
+ * Keš je mali (aktivnih tokena ima koliko i instanci izdavača) i prazni se ako se prepuni.
+ */
+public class GatewayTokenVerifier {
+
+    private final Hmac hmac;
+    private final long allowedClockSkewMillis;
+    private final int maxCachedTokens;
+    private final Clock clock;
+    private final Map<String, Long> verified = new ConcurrentHashMap<>();
+
+    public GatewayTokenVerifier(String secret, Duration allowedClockSkew, int maxCachedTokens, Clock clock) {
+        this.hmac = new Hmac(secret);
+        this.allowedClockSkewMillis = allowedClockSkew.toMillis();
+        this.maxCachedTokens = maxCachedTokens;
+        this.clock = clock;
+    }
+
+    public boolean verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return false;
+        }
+        long now = clock.millis();
+        Long validUntil = verified.get(token);
+        if (validUntil != null) {
+            if (now <= validUntil) {
+                return true;
+            }
+            verified.remove(token);
+            return false;
+        }
+
+        int signatureStart = token.lastIndexOf('.');
+        int expiryStart = token.lastIndexOf('.', signatureStart - 1);
+        if (signatureStart < 0 || expiryStart < 0 || !token.startsWith(GatewayToken.VERSION + '.')) {
+            return false;
+        }
+        long expiresAtMillis;
+        byte[] signature;
+        try {
+            expiresAtMillis = Long.parseLong(token, expiryStart + 1, signatureStart, 10) * 1000;
+            signature = Base64.getUrlDecoder().decode(token.substring(signatureStart + 1));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        long tokenValidUntil = expiresAtMillis + allowedClockSkewMillis;
+        if (now > tokenValidUntil
+                || !MessageDigest.isEqual(hmac.sign(token.substring(0, signatureStart)), signature)) {
+            return false;
+        }
+        if (verified.size() >= maxCachedTokens) {
+            verified.clear();
+        }
+        verified.put(token, tokenValidUntil);
+        return true;
+    }
+}
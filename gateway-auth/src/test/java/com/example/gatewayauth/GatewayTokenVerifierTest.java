@@ -0,0 +1,92 @@
+package com.example.gatewayauth;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayTokenVerifierTest {
+
+    private static final String SECRET = "test-secret-koji-ima-bar-32-bajta!";
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    private final GatewayTokenSigner signer = new GatewayTokenSigner(SECRET, "api-gateway", Duration.ofMinutes(5), clockAt(NOW));
+
+    @Test
+    void acceptsTokenUntilItExpires() {
+        String token = signer.currentToken();
+
+        assertTrue(verifierAt(NOW).verify(token));
+        assertTrue(verifierAt(NOW.plus(Duration.ofMinutes(5))).verify(token));
+        assertFalse(verifierAt(NOW.plus(Duration.ofMinutes(6))).verify(token));
+    }
+
+    @Test
+    void rejectsTamperedForeignAndMalformedTokens() {
+        String token = signer.currentToken();
+        String forged = token.replace("api-gateway", "orders-service");
+        String foreign = new GatewayTokenSigner("neki-drugi-secret-od-32-bajta-!!!", "api-gateway",
+                Duration.ofMinutes(5), clockAt(NOW)).currentToken();
+        GatewayTokenVerifier verifier = verifierAt(NOW);
+
+        assertFalse(verifier.verify(forged));
+        assertFalse(verifier.verify(foreign));
+        assertFalse(verifier.verify("true"));
+        assertFalse(verifier.verify("v1.api-gateway.abc.def"));
+        assertFalse(verifier.verify(null));
+    }
+
+    @Test
+    void signerReusesTokenUntilHalfOfTtl() {
+        MutableClock clock = new MutableClock(NOW);
+        GatewayTokenSigner rotating = new GatewayTokenSigner(SECRET, "orders-service", Duration.ofMinutes(5), clock);
+        String first = rotating.currentToken();
+
+        clock.now = NOW.plus(Duration.ofMinutes(2));
+        assertSame(first, rotating.currentToken());
+        clock.now = NOW.plus(Duration.ofMinutes(3));
+        assertNotEquals(first, rotating.currentToken());
+    }
+
+    @Test
+    void shortSecretIsRejected() {
+        assertThrows(IllegalStateException.class,
+                () -> new GatewayTokenVerifier("kratko", Duration.ZERO, 10, Clock.systemUTC()));
+    }
+
+    private static GatewayTokenVerifier verifierAt(Instant now) {
+        return new GatewayTokenVerifier(SECRET, Duration.ofSeconds(30), 16, clockAt(now));
+    }
+
+    private static Clock clockAt(Instant now) {
+        return Clock.fixed(now, ZoneOffset.UTC);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Power-of-two-choices nad peak-EWMA cenom (po uzoru na Finagle/Linkerd):
+ * od dve nasumične instance bira onu sa manjim {@code ewma(RTT) * (inFlight + 1)}.
+ * <ul>
+ *     <li>EWMA "skače" odmah na veći RTT (peak), a ka manjem se spušta sa vremenskom konstantom {@code decay-time};</li>
+ *     <li>pri čitanju se EWMA dodatno gasi ka nuli, pa instanca koja je bila spora posle nekog vremena ponovo dobija probni saobraćaj;</li>
+ *     <li>greška (izuzetak ili 5xx) se računa kao RTT od najmanje {@code failure-penalty}.</li>
+ * </ul>
+ * RTT i broj poziva u toku dolaze iz {@link LoadBalancerLifecycle} callback-ova koje pozivaju i gateway
+ * ({@code ReactiveLoadBalancerClientFilter}) i Feign/WebClient load balancer klijenti.
+ */
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private static final double UNKNOWN_PENALTY = Double.MAX_VALUE / 2;
+
+    private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+    private final double decayNanos;
+    private final long failurePenaltyNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers,
+                                Duration decayTime, Duration failurePenalty) {
+        this(suppliers, decayTime, failurePenalty, System::nanoTime);
+    }
+
+    PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers,
+                         Duration decayTime, Duration failurePenalty, LongSupplier nanoClock) {
+        this.suppliers = suppliers;
+        this.decayNanos = decayTime.toNanos();
+        this.failurePenaltyNanos = failurePenalty.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = select(instances);
+            if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                callback.selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+
+    Response<ServiceInstance> select(List<ServiceInstance> instances) {
+        int size = instances.size();
+        if (size == 0) {
+            return new EmptyResponse();
+        }
+        if (size == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        if (stats.size() > size * 2) {
+            prune(instances);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        long now = nanoClock.getAsLong();
+        return new DefaultResponse(statsFor(a).cost(now) <= statsFor(b).cost(now) ? a : b);
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext timed) {
+            timed.setRequestStartTime(nanoClock.getAsLong());
+        }
+        statsFor(lbResponse.getServer()).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completion) {
+        Response<ServiceInstance> lbResponse = completion.getLoadBalancerResponse();
+        if (completion.status() == CompletionContext.Status.DISCARD || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceStats instance = statsFor(lbResponse.getServer());
+        instance.inFlight.decrementAndGet();
+        if (!(completion.getLoadBalancerRequest().getContext() instanceof TimedRequestContext timed)
+                || timed.getRequestStartTime() == 0) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        long rtt = now - timed.getRequestStartTime();
+        if (completion.status() == CompletionContext.Status.FAILED || isServerError(completion.getClientResponse())) {
+            rtt = Math.max(rtt, failurePenaltyNanos);
+        }
+        instance.observe(rtt, now);
+    }
+
+    private static boolean isServerError(Object clientResponse) {
+        return clientResponse instanceof ResponseData data
+                && data.getHttpStatus() != null && data.getHttpStatus().is5xxServerError();
+    }
+
+    private InstanceStats statsFor(ServiceInstance instance) {
+        return stats.computeIfAbsent(instance.getHost() + ':' + instance.getPort(), key -> new InstanceStats());
+    }
+
+    private void prune(List<ServiceInstance> instances) {
+        Set<String> live = new HashSet<>();
+        for (ServiceInstance instance : instances) {
+            live.add(instance.getHost() + ':' + instance.getPort());
+        }
+        stats.keySet().retainAll(live);
+    }
+
+    private final class InstanceStats {
+
+        final AtomicInteger inFlight = new AtomicInteger();
+        private double ewmaNanos;
+        private long stampNanos;
+
+        synchronized void observe(long rttNanos, long now) {
+            if (rttNanos > ewmaNanos) {
+                ewmaNanos = rttNanos;
+            } else {
+                double weight = Math.exp(-Math.max(0, now - stampNanos) / decayNanos);
+                ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+            }
+            stampNanos = now;
+        }
+
+        synchronized double cost(long now) {
+            int pending = Math.max(0, inFlight.get());
+            if (ewmaNanos == 0) {
+                return pending == 0 ? 0 : UNKNOWN_PENALTY + pending;
+            }
+            double decayed = ewmaNanos * Math.exp(-Math.max(0, now - stampNanos) / decayNanos);
+            return decayed * (pending + 1);
+        }
+    }
+}
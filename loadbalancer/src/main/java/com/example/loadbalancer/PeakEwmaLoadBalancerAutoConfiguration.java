@@ -0,0 +1,20 @@
+package com.example.loadbalancer;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+
+/**
+ * Zamenjuje podrazumevani round-robin za sve {@code lb://} pozive servisa koji zavisi od modula
+ * (gateway rute, Feign, {@code @LoadBalanced} WebClient).
+ * <pre>
+ * microshop.loadbalancer.peak-ewma.enabled=true     (false = round-robin)
+ * microshop.loadbalancer.peak-ewma.decay-time=10s
+ * microshop.loadbalancer.peak-ewma.failure-penalty=1s
+ * </pre>
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "microshop.loadbalancer.peak-ewma.enabled", havingValue = "true", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class PeakEwmaLoadBalancerAutoConfiguration {
+}
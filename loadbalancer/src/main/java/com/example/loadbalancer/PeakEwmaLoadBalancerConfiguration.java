@@ -0,0 +1,27 @@
+package com.example.loadbalancer;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Konfiguracija po servisu (child kontekst load balancer-a); namerno bez {@code @Configuration},
+ * da je component scan ne bi pokupio za sve servise odjednom. Povratni tip je konkretna klasa da bi je
+ * load balancer klijenti našli i kao {@code LoadBalancerLifecycle}.
+ * <p>
+ * Child kontekst nema Boot-ov konverter za {@code Duration}, pa se trajanja parsiraju ručno.
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+    @Bean
+    public PeakEwmaLoadBalancer peakEwmaLoadBalancer(Environment environment,
+                                                     LoadBalancerClientFactory loadBalancerClientFactory) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new PeakEwmaLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                DurationStyle.detectAndParse(environment.getProperty("microshop.loadbalancer.peak-ewma.decay-time", "10s")),
+                DurationStyle.detectAndParse(environment.getProperty("microshop.loadbalancer.peak-ewma.failure-penalty", "1s")));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PeakEwmaLoadBalancerTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final ServiceInstance fast = new DefaultServiceInstance("fast", "users-service", "localhost", 8001, false);
+    private final ServiceInstance slow = new DefaultServiceInstance("slow", "users-service", "localhost", 8002, false);
+    private final AtomicLong now = new AtomicLong(1);
+    private final PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(
+            new StaticListableBeanFactory(Map.of("supplier", ServiceInstanceListSuppliers.from("users-service", fast, slow)))
+                    .getBeanProvider(ServiceInstanceListSupplier.class),
+            Duration.ofSeconds(10), Duration.ofSeconds(1), now::get);
+
+    @Test
+    void slowInstance_shouldGetProportionallyLessTraffic() {
+        int slowPicks = 0;
+        for (int i = 0; i < 1000; i++) {
+            Request<Object> request = new DefaultRequest<>(new RequestDataContext());
+            Response<ServiceInstance> response = loadBalancer.choose(request).block();
+            ServiceInstance chosen = response.getServer();
+            loadBalancer.onStartRequest(request, response);
+            now.addAndGet(chosen == slow ? 50 * MS : 5 * MS);
+            loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response));
+            if (chosen == slow) {
+                slowPicks++;
+            }
+        }
+        assertTrue(slowPicks < 100, "slow instance got " + slowPicks + " of 1000 requests");
+    }
+
+    @Test
+    void busyInstance_shouldBeAvoided_whenLatencyIsEqual() {
+        for (ServiceInstance instance : new ServiceInstance[]{fast, slow}) {
+            Request<Object> request = new DefaultRequest<>(new RequestDataContext());
+            Response<ServiceInstance> response = new DefaultResponse(instance);
+            loadBalancer.onStartRequest(request, response);
+            now.addAndGet(10 * MS);
+            loadBalancer.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response));
+        }
+        for (int i = 0; i < 3; i++) {
+            loadBalancer.onStartRequest(new DefaultRequest<>(new RequestDataContext()),
+                    new DefaultResponse(fast));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            assertSame(slow, loadBalancer.choose(new DefaultRequest<>()).block().getServer());
+        }
+    }
+}
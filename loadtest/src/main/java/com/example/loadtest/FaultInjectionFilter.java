@@ -0,0 +1,46 @@
+package com.example.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Registruje se u users-service kontekstu i po trenutnoj fazi {@link FaultScript}-a
+ * usporava ili odbija zahteve ka /users.
+ */
+class FaultInjectionFilter extends OncePerRequestFilter {
+
+    private final FaultScript script;
+
+    FaultInjectionFilter(FaultScript script) {
+        this.script = script;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        FaultScript.Phase phase = script.current();
+        if (phase.isHealthy() || !request.getRequestURI().startsWith("/users")) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!phase.delay().isZero()) {
+            try {
+                Thread.sleep(phase.delay());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (ThreadLocalRandom.current().nextDouble() < phase.errorRate()) {
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Injected fault");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Scenario grešaka za users-service, zadat kao niz faza:
+ * <pre>
+ * 0s:none,20s:delay=1500ms,40s:error=0.5,60s:down,80s:delay=300ms+error=0.1
+ * </pre>
+ * Vreme faze se računa od {@link #start()}; pre toga su sve faze neaktivne.
+ */
+public final class FaultScript {
+
+    public record Phase(Duration at, Duration delay, double errorRate, String label) {
+
+        public boolean isHealthy() {
+            return delay.isZero() && errorRate <= 0;
+        }
+    }
+
+    private static final Phase NONE = new Phase(Duration.ZERO, Duration.ZERO, 0, "none");
+
+    private final List<Phase> phases;
+    private volatile long startNanos = -1;
+
+    private FaultScript(List<Phase> phases) {
+        this.phases = phases;
+    }
+
+    public static FaultScript none() {
+        return new FaultScript(List.of(NONE));
+    }
+
+    public static FaultScript parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return none();
+        }
+        List<Phase> phases = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String trimmed = part.trim();
+            int colon = trimmed.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Fault phase must look like '<offset>:<action>', got: " + trimmed);
+            }
+            Duration at = DurationStyle.detectAndParse(trimmed.substring(0, colon).trim());
+            phases.add(parseActions(at, trimmed.substring(colon + 1).trim()));
+        }
+        phases.sort(Comparator.comparing(Phase::at));
+        if (!phases.get(0).at().isZero()) {
+            phases.add(0, NONE);
+        }
+        return new FaultScript(List.copyOf(phases));
+    }
+
+    private static Phase parseActions(Duration at, String actions) {
+        Duration delay = Duration.ZERO;
+        double errorRate = 0;
+        for (String action : actions.split("\\+")) {
+            String a = action.trim();
+            if (a.equals("none")) {
+                continue;
+            }
+            if (a.equals("down")) {
+                errorRate = 1.0;
+            } else if (a.startsWith("delay=")) {
+                delay = DurationStyle.detectAndParse(a.substring("delay=".length()));
+            } else if (a.startsWith("error=")) {
+                errorRate = Double.parseDouble(a.substring("error=".length()));
+            } else {
+                throw new IllegalArgumentException("Unknown fault action: " + a);
+            }
+        }
+        return new Phase(at, delay, errorRate, actions);
+    }
+
+    public void start() {
+        startNanos = System.nanoTime();
+    }
+
+    public List<Phase> phases() {
+        return phases;
+    }
+
+    public Phase current() {
+        long start = startNanos;
+        return start < 0 ? NONE : phases.get(phaseIndexAt(System.nanoTime() - start));
+    }
+
+    public int phaseIndexAt(long elapsedNanos) {
+        int index = 0;
+        for (int i = 1; i < phases.size(); i++) {
+            if (phases.get(i).at().toNanos() <= elapsedNanos) {
+                index = i;
+            }
+        }
+        return index;
+    }
+}
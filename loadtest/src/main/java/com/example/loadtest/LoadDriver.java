@@ -0,0 +1,262 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model generator saobraćaja kroz gateway: svaka ruta ima sopstvenu stopu (zahteva u sekundi),
+ * a latencija se meri od planiranog trenutka slanja, pa zagušenje ne sakriva čekanje (coordinated omission).
+ */
+public final class LoadDriver {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadDriver.class);
+
+    /**
+     * Podešavanja iz sistemskih svojstava:
+     * {@code load.rates=create=20,read=50,details=30}, {@code load.warmup=5s}, {@code load.duration=30s},
+     * {@code load.seed-users=50}, {@code load.seed-orders=200}, {@code load.request-timeout=10s}.
+     */
+    public record Settings(Map<Route, Double> rates, Duration warmup, Duration duration,
+                           int seedUsers, int seedOrders, Duration requestTimeout) {
+
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                    parseRates(System.getProperty("load.rates", "create=20,read=50,details=30")),
+                    DurationStyle.detectAndParse(System.getProperty("load.warmup", "5s")),
+                    DurationStyle.detectAndParse(System.getProperty("load.duration", "30s")),
+                    Integer.getInteger("load.seed-users", 50),
+                    Integer.getInteger("load.seed-orders", 200),
+                    DurationStyle.detectAndParse(System.getProperty("load.request-timeout", "10s")));
+        }
+
+        static Map<Route, Double> parseRates(String spec) {
+            Map<Route, Double> rates = new EnumMap<>(Route.class);
+            for (String part : spec.split(",")) {
+                String[] kv = part.trim().split("=");
+                rates.put(Route.valueOf(kv[0].trim().toUpperCase()), Double.parseDouble(kv[1].trim()));
+            }
+            return rates;
+        }
+    }
+
+    private final URI gateway;
+    private final String apiKey;
+    private final Settings settings;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final IdPool userIds = new IdPool(10_000);
+    private final IdPool orderIds = new IdPool(100_000);
+    private final AtomicInteger productCounter = new AtomicInteger();
+
+    public LoadDriver(URI gateway, String apiKey, Settings settings) {
+        this.gateway = gateway;
+        this.apiKey = apiKey;
+        this.settings = settings;
+        this.http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    public LoadReport run(FaultScript faults) throws InterruptedException {
+        seed();
+
+        log.info("🔥 Warm-up for {}", settings.warmup());
+        drive(settings.warmup(), null, faults);
+
+        List<FaultScript.Phase> phases = faults.phases();
+        RouteStats[][] stats = new RouteStats[phases.size()][Route.values().length];
+        for (RouteStats[] perPhase : stats) {
+            for (int r = 0; r < perPhase.length; r++) {
+                perPhase[r] = new RouteStats();
+            }
+        }
+        log.info("🚦 Measuring for {} with rates {} and faults {}", settings.duration(), settings.rates(),
+                phases.stream().map(p -> p.at().toSeconds() + "s:" + p.label()).toList());
+        faults.start();
+        drive(settings.duration(), stats, faults);
+        return report(phases, stats);
+    }
+
+    private void seed() {
+        for (int i = 0; i < settings.seedUsers(); i++) {
+            String body = "{\"name\":\"Load User " + i + "\",\"email\":\"load-" + i + "-" + System.nanoTime()
+                    + "@example.com\",\"password\":\"Lozinka123\"}";
+            Long id = postForId("/api/users", body);
+            if (id != null) {
+                userIds.add(id);
+            }
+        }
+        if (userIds.isEmpty()) {
+            throw new IllegalStateException("Seeding users through the gateway failed");
+        }
+        for (int i = 0; i < settings.seedOrders(); i++) {
+            Long id = postForId("/api/orders", orderBody());
+            if (id != null) {
+                orderIds.add(id);
+            }
+        }
+        log.info("🌱 Seeded {} users and {} orders", userIds.size(), orderIds.size());
+    }
+
+    private void drive(Duration duration, RouteStats[][] stats, FaultScript faults) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Thread> schedulers = new ArrayList<>();
+            for (Map.Entry<Route, Double> entry : settings.rates().entrySet()) {
+                if (entry.getValue() <= 0) {
+                    continue;
+                }
+                Route route = entry.getKey();
+                long interval = (long) (TimeUnit.SECONDS.toNanos(1) / entry.getValue());
+                schedulers.add(Thread.ofPlatform().name("load-" + route.name().toLowerCase()).start(() -> {
+                    for (long intended = start; intended < end; intended += interval) {
+                        long wait = intended - System.nanoTime();
+                        if (wait > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                        long scheduledAt = intended;
+                        requests.execute(() -> fire(route, scheduledAt, start, stats, faults));
+                    }
+                }));
+            }
+            for (Thread scheduler : schedulers) {
+                scheduler.join();
+            }
+        }
+    }
+
+    private void fire(Route route, long scheduledAt, long start, RouteStats[][] stats, FaultScript faults) {
+        boolean success;
+        try {
+            HttpResponse<String> response = http.send(request(route), HttpResponse.BodyHandlers.ofString());
+            success = response.statusCode() / 100 == 2;
+            if (success && route == Route.CREATE) {
+                orderIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+            }
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (stats != null) {
+            stats[faults.phaseIndexAt(scheduledAt - start)][route.ordinal()].record(System.nanoTime() - scheduledAt, success);
+        }
+    }
+
+    private HttpRequest request(Route route) {
+        return switch (route) {
+            case CREATE -> builder("/api/orders")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(orderBody()))
+                    .build();
+            case READ -> builder("/api/orders/" + orderIds.random()).GET().build();
+            case DETAILS -> builder("/api/orders/" + orderIds.random() + "/details").GET().build();
+        };
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(gateway.resolve(path))
+                .timeout(settings.requestTimeout())
+                .header("X-API-KEY", apiKey);
+    }
+
+    private String orderBody() {
+        int n = productCounter.incrementAndGet();
+        return "{\"userId\":" + userIds.random() + ",\"productName\":\"Load product " + n
+                + "\",\"price\":" + (10 + n % 90) + ".99}";
+    }
+
+    private Long postForId(String path, String body) {
+        try {
+            HttpResponse<String> response = http.send(builder(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                log.warn("⚠️ Seeding {} returned {}: {}", path, response.statusCode(), response.body());
+                return null;
+            }
+            return objectMapper.readTree(response.body()).get("id").asLong();
+        } catch (IOException e) {
+            log.warn("⚠️ Seeding {} failed: {}", path, e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while seeding", e);
+        }
+    }
+
+    private LoadReport report(List<FaultScript.Phase> phases, RouteStats[][] stats) {
+        List<LoadReport.Row> rows = new ArrayList<>();
+        long total = settings.duration().toNanos();
+        for (int p = 0; p < phases.size(); p++) {
+            long from = phases.get(p).at().toNanos();
+            long to = p + 1 < phases.size() ? Math.min(phases.get(p + 1).at().toNanos(), total) : total;
+            if (from >= total) {
+                continue;
+            }
+            double seconds = (to - from) / 1e9;
+            String phase = phases.get(p).at().toSeconds() + "s " + phases.get(p).label();
+            for (Route route : Route.values()) {
+                RouteStats s = stats[p][route.ordinal()];
+                if (s.ok() + s.errors() == 0) {
+                    continue;
+                }
+                rows.add(new LoadReport.Row(phase, route.label(), s.ok() + s.errors(), s.ok(), s.errors(),
+                        s.ok() / seconds, s.percentileMillis(50), s.percentileMillis(99),
+                        s.percentileMillis(99.9), s.maxMillis()));
+            }
+        }
+        return new LoadReport(rows);
+    }
+
+    /**
+     * Ograničen skup poznatih ID-jeva (prsten), iz kog se nasumično biraju mete za čitanje.
+     */
+    private static final class IdPool {
+        private final AtomicLongArray ids;
+        private final AtomicInteger count = new AtomicInteger();
+
+        IdPool(int capacity) {
+            this.ids = new AtomicLongArray(capacity);
+        }
+
+        void add(long id) {
+            int slot = count.getAndIncrement();
+            ids.set(Math.floorMod(slot, ids.length()), id);
+        }
+
+        int size() {
+            return Math.min(count.get(), ids.length());
+        }
+
+        boolean isEmpty() {
+            return count.get() == 0;
+        }
+
+        long random() {
+            int size = size();
+            return size == 0 ? 1 : ids.get(ThreadLocalRandom.current().nextInt(size));
+        }
+    }
+}
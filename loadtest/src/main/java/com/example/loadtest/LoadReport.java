@@ -0,0 +1,39 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Rezultat load testa: po jedan red za svaku fazu scenarija i rutu.
+ */
+public record LoadReport(List<Row> rows) {
+
+    public record Row(String phase, String route, long requests, long ok, long errors,
+                      double throughput, double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+
+    public long totalOk() {
+        return rows.stream().mapToLong(Row::ok).sum();
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%n%-28s %-30s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+                "phase", "route", "requests", "ok", "errors", "ok/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Row row : rows) {
+            out.printf("%-28s %-30s %8d %8d %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    row.phase(), row.route(), row.requests(), row.ok(), row.errors(),
+                    row.throughput(), row.p50Ms(), row.p99Ms(), row.p999Ms(), row.maxMs());
+        }
+    }
+
+    public void writeJson(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), this);
+    }
+}
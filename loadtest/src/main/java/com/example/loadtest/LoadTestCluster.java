@@ -0,0 +1,218 @@
+package com.example.loadtest;
+
+import com.example.apigateway.ApiGatewayApplication;
+import com.example.ordersservice.OrdersServiceApplication;
+import com.example.ordersservice.listener.OrderEventListener;
+import com.example.ordersservice.repository.OutboxEventRepository;
+import com.example.usersservice.UsersServiceApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Podiže users-service, orders-service i api-gateway u istom JVM-u.
+ * <ul>
+ *     <li>Eureka je zamenjena SimpleDiscoveryClient-om sa stvarnim (nasumičnim) portovima.</li>
+ *     <li>RabbitMQ je zamenjen {@link OutboxStandInRelay}-em; listener container-i se ne pokreću.</li>
+ *     <li>users-service dobija {@link FaultInjectionFilter} vođen {@link FaultScript}-om; sa više skripti se podiže
+ *     po jedna instanca users-service-a za svaku (dele istu H2 bazu), a orders-service i gateway ih vide sve.</li>
+ *     <li>{@link ResponseBytesFilter} u svakoj instanci users-service-a broji bajtove odgovora.</li>
+ * </ul>
+ * Servisi dele classpath, pa se {@code application.properties} svakog servisa čita iz njegovog
+ * jar-a/direktorijuma i prosleđuje kao podrazumevana podešavanja. Sistemska svojstva
+ * {@code load.users.*}, {@code load.orders.*} i {@code load.gateway.*} nadjačavaju podešavanja
+ * odgovarajućeg servisa (npr. {@code -Dload.orders.resilience4j.circuitbreaker.instances.userService.sliding-window-size=20}).
+ */
+public final class LoadTestCluster implements AutoCloseable {
+
+    public static final String API_KEY_PROPERTY = "gateway.api.key";
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestCluster.class);
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private final List<ConfigurableApplicationContext> usersContexts = new ArrayList<>();
+    private final List<ResponseBytesFilter> usersResponseBytes = new ArrayList<>();
+    private URI gatewayUri;
+    private String apiKey;
+
+    private LoadTestCluster() {
+    }
+
+    public static LoadTestCluster start(FaultScript usersFaults) {
+        return start(List.of(usersFaults));
+    }
+
+    public static LoadTestCluster start(List<FaultScript> usersFaults) {
+        LoadTestCluster cluster = new LoadTestCluster();
+        try {
+            cluster.boot(usersFaults);
+            return cluster;
+        } catch (RuntimeException e) {
+            cluster.close();
+            throw e;
+        }
+    }
+
+    public URI gatewayUri() {
+        return gatewayUri;
+    }
+
+    public String apiKey() {
+        return apiKey;
+    }
+
+    /** Broj odgovora users-service-a (sve instance) na /users. */
+    public long usersResponses() {
+        return usersResponseBytes.stream().mapToLong(ResponseBytesFilter::responses).sum();
+    }
+
+    /** Ukupna veličina tela tih odgovora u bajtovima. */
+    public long usersResponseBytes() {
+        return usersResponseBytes.stream().mapToLong(ResponseBytesFilter::bytes).sum();
+    }
+
+    /** Instance users-service-a, redom kojim su zadate skripte grešaka. */
+    public List<ConfigurableApplicationContext> usersContexts() {
+        return List.copyOf(usersContexts);
+    }
+
+    private void boot(List<FaultScript> usersFaults) {
+        Map<String, String> users = commonOverrides();
+        users.put("spring.cloud.gateway.server.webflux.enabled", "false");
+        users.put("spring.datasource.url", "jdbc:h2:mem:loadtest-users");
+        users.put("spring.jpa.show-sql", "false");
+        users.put("logging.level.com.example.usersservice", "WARN");
+        users.putAll(systemOverrides("load.users."));
+        List<String> usersUris = new ArrayList<>();
+        for (FaultScript faults : usersFaults) {
+            ResponseBytesFilter responseBytes = new ResponseBytesFilter();
+            ConfigurableApplicationContext usersContext = run(UsersServiceApplication.class, WebApplicationType.SERVLET, users, ctx -> {
+                ctx.registerBean(FaultInjectionFilter.class, () -> new FaultInjectionFilter(faults));
+                ctx.registerBean(ResponseBytesFilter.class, () -> responseBytes);
+            });
+            usersResponseBytes.add(responseBytes);
+            usersContexts.add(usersContext);
+            usersUris.add("http://localhost:" + port(usersContext));
+        }
+
+        Map<String, String> orders = commonOverrides();
+        orders.put("spring.cloud.gateway.server.webflux.enabled", "false");
+        orders.put("spring.datasource.url", "jdbc:h2:mem:loadtest-orders");
+        putInstances(orders, List.of("users-service"), usersUris);
+        orders.put("orders.outbox.relay.enabled", "false");
+        orders.put("orders.events.queue-metrics.interval", "1h");
+        orders.put("logging.level.com.example.ordersservice", "WARN");
+        orders.putAll(systemOverrides("load.orders."));
+        ConfigurableApplicationContext ordersContext = run(OrdersServiceApplication.class, WebApplicationType.SERVLET, orders,
+                ctx -> ctx.registerBean(OutboxStandInRelay.class, () -> new OutboxStandInRelay(
+                        ctx.getBean(OutboxEventRepository.class), ctx.getBean(OrderEventListener.class))));
+        String ordersUri = "http://localhost:" + port(ordersContext);
+
+        Map<String, String> gateway = commonOverrides();
+        gateway.put("spring.autoconfigure.exclude", String.join(",",
+                "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+                "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration"));
+        putInstances(gateway, List.of("users-service", "USERS-SERVICE"), usersUris);
+        putInstances(gateway, List.of("orders-service", "ORDERS-SERVICE"), List.of(ordersUri));
+        // Upozorenje o Spring MVC-u na classpath-u je očekivano: gateway je eksplicitno REACTIVE
+        gateway.put("logging.level.org.springframework.cloud.gateway.config.GatewayClassPathWarningAutoConfiguration", "ERROR");
+        gateway.put("spring.cloud.gateway.httpclient.wiretap", "false");
+        gateway.put("spring.cloud.gateway.httpserver.wiretap", "false");
+        gateway.putAll(systemOverrides("load.gateway."));
+        // Tomcat je na classpath-u zbog servlet servisa, a gateway treba da radi na Netty-ju
+        ConfigurableApplicationContext gatewayContext = run(ApiGatewayApplication.class, WebApplicationType.REACTIVE, gateway,
+                ctx -> ctx.registerBean(NettyReactiveWebServerFactory.class));
+
+        gatewayUri = URI.create("http://localhost:" + port(gatewayContext));
+        apiKey = gatewayContext.getEnvironment().getRequiredProperty(API_KEY_PROPERTY);
+        log.info("🚀 Load-test cluster up: gateway={}, orders={}, users={}", gatewayUri, ordersUri, usersUris);
+    }
+
+    private ConfigurableApplicationContext run(Class<?> application, WebApplicationType type, Map<String, String> overrides,
+                                               ApplicationContextInitializer<GenericApplicationContext> initializer) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(application)
+                .web(type)
+                .properties(serviceProperties(application))
+                .initializers(ctx -> initializer.initialize((GenericApplicationContext) ctx))
+                .run(toArgs(overrides));
+        contexts.add(context);
+        return context;
+    }
+
+    private static Map<String, String> commonOverrides() {
+        Map<String, String> overrides = new LinkedHashMap<>();
+        // Svaki servis koristi samo svoja podešavanja, ne application.properties koji je prvi na classpath-u
+        overrides.put("spring.config.location", "optional:classpath:/loadtest-none/");
+        overrides.put("server.port", "0");
+        overrides.put("eureka.client.enabled", "false");
+        overrides.put("spring.rabbitmq.listener.simple.auto-startup", "false");
+        overrides.put("management.health.rabbit.enabled", "false");
+        overrides.put("spring.main.banner-mode", "off");
+        overrides.put("logging.level.access", "WARN");
+        return overrides;
+    }
+
+    private static void putInstances(Map<String, String> overrides, List<String> serviceIds, List<String> uris) {
+        for (String serviceId : serviceIds) {
+            for (int i = 0; i < uris.size(); i++) {
+                overrides.put("spring.cloud.discovery.client.simple.instances[" + serviceId + "][" + i + "].uri", uris.get(i));
+            }
+        }
+    }
+
+    private static Map<String, String> systemOverrides(String prefix) {
+        Map<String, String> overrides = new LinkedHashMap<>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(prefix))
+                .forEach(name -> overrides.put(name.substring(prefix.length()), System.getProperty(name)));
+        return overrides;
+    }
+
+    private static String[] toArgs(Map<String, String> overrides) {
+        return overrides.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+    }
+
+    private static Properties serviceProperties(Class<?> application) {
+        try {
+            URL location = application.getProtectionDomain().getCodeSource().getLocation();
+            URL resource = location.getPath().endsWith(".jar")
+                    ? URI.create("jar:" + location + "!/application.properties").toURL()
+                    : URI.create(location + "application.properties").toURL();
+            return PropertiesLoaderUtils.loadProperties(new UrlResource(resource));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read application.properties of " + application.getSimpleName(), e);
+        }
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    @Override
+    public void close() {
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            contexts.get(i).close();
+        }
+        contexts.clear();
+        usersContexts.clear();
+        usersResponseBytes.clear();
+    }
+}
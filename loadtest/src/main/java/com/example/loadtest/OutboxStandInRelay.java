@@ -0,0 +1,80 @@
+package com.example.loadtest;
+
+import com.example.ordersservice.listener.OrderEventListener;
+import com.example.ordersservice.model.OutboxEvent;
+import com.example.ordersservice.repository.OutboxEventRepository;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Zamena za RabbitMQ: prazni outbox tabelu i poruke predaje direktno {@link OrderEventListener}-u,
+ * pa se u load testu izvršava isti put upis → outbox → dekodiranje, samo bez brokera.
+ */
+class OutboxStandInRelay implements SmartLifecycle {
+
+    private static final int BATCH_SIZE = 200;
+    private static final long IDLE_SLEEP_MS = 100;
+
+    private final OutboxEventRepository outboxRepository;
+    private final OrderEventListener listener;
+    private volatile Thread worker;
+
+    OutboxStandInRelay(OutboxEventRepository outboxRepository, OrderEventListener listener) {
+        this.outboxRepository = outboxRepository;
+        this.listener = listener;
+    }
+
+    @Override
+    public void start() {
+        worker = Thread.ofVirtual().name("outbox-stand-in").start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        Thread current = worker;
+        worker = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return worker != null;
+    }
+
+    private void run() {
+        while (worker != null) {
+            try {
+                List<OutboxEvent> batch = outboxRepository.findAllByOrderByIdAsc(Limit.of(BATCH_SIZE));
+                if (!batch.isEmpty()) {
+                    listener.handleOrderCreated(batch.stream().map(OutboxStandInRelay::toMessage).toList());
+                    outboxRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+                }
+                if (batch.size() < BATCH_SIZE) {
+                    Thread.sleep(IDLE_SLEEP_MS);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // Kontekst se gasi ili baza nije dostupna; pokušava se ponovo u sledećem krugu
+                if (worker == null) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_SLEEP_MS * 1_000_000);
+            }
+        }
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload())
+                .setContentType(event.getContentType())
+                .setMessageId(String.valueOf(event.getId()))
+                .build();
+    }
+}
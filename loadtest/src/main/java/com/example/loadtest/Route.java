@@ -0,0 +1,18 @@
+package com.example.loadtest;
+
+public enum Route {
+
+    CREATE("POST /api/orders"),
+    READ("GET /api/orders/{id}"),
+    DETAILS("GET /api/orders/{id}/details");
+
+    private final String label;
+
+    Route(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pokretanje: {@code .\mvnw -pl loadtest -am test -Pload-test -Dsurefire.failIfNoSpecifiedTests=false -Dtest=EndToEndLoadTest}
+ * <p>
+ * Stope, trajanje i scenario grešaka zadaju se sistemskim svojstvima ({@link LoadDriver.Settings},
+ * {@link FaultScript}, {@link LoadTestCluster}); izveštaj se upisuje u {@code target/loadtest-report.json}.
+ */
+@Tag("load")
+class EndToEndLoadTest {
+
+    @Test
+    void mixedTraffic_throughGateway() throws Exception {
+        FaultScript faults = FaultScript.parse(System.getProperty("load.users-faults", "0s:none"));
+
+        try (LoadTestCluster cluster = LoadTestCluster.start(faults)) {
+            LoadReport report = new LoadDriver(cluster.gatewayUri(), cluster.apiKey(), LoadDriver.Settings.fromSystemProperties())
+                    .run(faults);
+
+            report.print(System.out);
+            long responses = cluster.usersResponses();
+            System.out.printf("%n📦 users-service: %d responses, %d body bytes (%.0f B/response)%n%n",
+                    responses, cluster.usersResponseBytes(), (double) cluster.usersResponseBytes() / Math.max(1, responses));
+            report.writeJson(Path.of("target", "loadtest-report.json"));
+            assertTrue(report.totalOk() > 0, "No request succeeded through the gateway");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Dve instance users-service-a, od kojih druga odgovara sporije ({@code load.slow-replica-delay}, podrazumevano 40ms).
+ * Gateway (lb://USERS-SERVICE, peak-EWMA + power of two choices) treba sporoj instanci da šalje srazmerno manje
+ * zahteva; sa {@code -Dload.gateway.microshop.loadbalancer.peak-ewma.enabled=false} (round-robin) podela je ~50/50.
+ * <p>
+ * Pokretanje: {@code .\mvnw -pl loadtest -am test -Pload-test -Dsurefire.failIfNoSpecifiedTests=false -Dtest=LoadBalancingLoadTest}
+ */
+@Tag("load")
+class LoadBalancingLoadTest {
+
+    private static final int CLIENTS = 8;
+    private static final int REQUESTS_PER_CLIENT = 100;
+    private static final String DECAY_TIME = "load.gateway.microshop.loadbalancer.peak-ewma.decay-time";
+
+    private static boolean decayTimeSet;
+
+    // Merenje traje ~10s; sa podrazumevanih 10s bi jedan "hladan" prvi zahtev (JIT, Hibernate) ka brzoj instanci
+    // držao njenu peak-EWMA iznad spore tokom celog testa
+    @BeforeAll
+    static void shortDecayTime() {
+        decayTimeSet = System.getProperties().putIfAbsent(DECAY_TIME, "2s") == null;
+    }
+
+    @AfterAll
+    static void restoreDecayTime() {
+        if (decayTimeSet) {
+            System.clearProperty(DECAY_TIME);
+        }
+    }
+
+    @Test
+    void slowReplica_shouldGetLessTraffic() throws Exception {
+        FaultScript fast = FaultScript.none();
+        FaultScript slow = FaultScript.parse("0s:delay=" + System.getProperty("load.slow-replica-delay", "40ms"));
+
+        try (LoadTestCluster cluster = LoadTestCluster.start(List.of(fast, slow))) {
+            HttpClient http = HttpClient.newHttpClient();
+            long userId = createUser(http, cluster);
+            fast.start();
+            slow.start();
+
+            // Zatvorena petlja, ~10 zahteva/s po klijentu – ispod podrazumevanog rate limit-a gateway-a
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    clients.execute(() -> {
+                        for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                            try {
+                                HttpResponse<Void> response = http.send(request(cluster, "/api/users/" + userId)
+                                        .header("Cache-Control", "no-store").GET().build(), HttpResponse.BodyHandlers.discarding());
+                                assertEquals(200, response.statusCode());
+                                Thread.sleep(100);
+                            } catch (Exception e) {
+                                throw new IllegalStateException(e);
+                            }
+                        }
+                    });
+                }
+            }
+
+            List<ConfigurableApplicationContext> instances = cluster.usersContexts();
+            long fastCount = userLookups(instances.get(0));
+            long slowCount = userLookups(instances.get(1));
+            System.out.printf("%n⚖️ users-service fast=%d slow=%d (%.0f%% to slow replica)%n%n",
+                    fastCount, slowCount, 100.0 * slowCount / (fastCount + slowCount));
+            assertTrue(slowCount * 2 < fastCount, "slow replica got " + slowCount + " vs fast " + fastCount);
+        }
+    }
+
+    private static long createUser(HttpClient http, LoadTestCluster cluster) throws Exception {
+        HttpResponse<String> response = http.send(request(cluster, "/api/users")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"LB User\",\"email\":\"lb-" + System.nanoTime()
+                        + "@example.com\",\"password\":\"Lozinka123\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, response.statusCode(), response.body());
+        return new ObjectMapper().readTree(response.body()).get("id").asLong();
+    }
+
+    private static HttpRequest.Builder request(LoadTestCluster cluster, String path) {
+        return HttpRequest.newBuilder(cluster.gatewayUri().resolve(URI.create(path)))
+                .timeout(Duration.ofSeconds(10))
+                .header("X-API-KEY", cluster.apiKey());
+    }
+
+    private static long userLookups(ConfigurableApplicationContext users) {
+        return users.getBean(MeterRegistry.class).find("http.server.requests").tag("uri", "/users/{id}")
+                .timers().stream().mapToLong(Timer::count).sum();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.ordersservice.DTO;
+
+import java.util.List;
+
+public record BulkOrderReport(int total, int created, int rejected, int failed, List<BulkOrderResult> results) {
+
+    public static BulkOrderReport of(List<BulkOrderResult> results) {
+        int created = 0, rejected = 0, failed = 0;
+        for (BulkOrderResult result : results) {
+            switch (result.status()) {
+                case CREATED -> created++;
+                case REJECTED -> rejected++;
+                case FAILED -> failed++;
+            }
+        }
+        return new BulkOrderReport(results.size(), created, rejected, failed, results);
+    }
+}
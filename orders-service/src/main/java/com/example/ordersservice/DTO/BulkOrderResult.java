@@ -0,0 +1,18 @@
+package com.example.ordersservice.DTO;
+
+public record BulkOrderResult(int index, Status status, Long id, String error) {
+
+    public enum Status { CREATED, REJECTED, FAILED }
+
+    public static BulkOrderResult created(int index, Long id) {
+        return new BulkOrderResult(index, Status.CREATED, id, null);
+    }
+
+    public static BulkOrderResult rejected(int index, String error) {
+        return new BulkOrderResult(index, Status.REJECTED, null, error);
+    }
+
+    public static BulkOrderResult failed(int index, String error) {
+        return new BulkOrderResult(index, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.ordersservice.DTO;
+
+// Iznosi su u centima (long), bez BigDecimal-a na putanji čitanja
+public record UserOrderStats(Long userId, long orderCount, long totalCents) { }
@@ -0,0 +1,48 @@
+package com.example.ordersservice.cache;
+
+import com.example.ordersservice.DTO.UserDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Lokalni keš korisnika iz users-service. Ograničen po broju unosa i TTL-u,
+ * a unosi se brišu i ranije kada stigne UserChanged događaj.
+ * Statistika (hit/miss/eviction) je dostupna na /actuator/metrics/cache.* (tag cache=users).
+ */
+@Component
+public class UserCache {
+
+    private final Cache<Long, UserDTO> cache;
+
+    public UserCache(MeterRegistry meterRegistry,
+                     @Value("${users.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${users.cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    public Optional<UserDTO> get(Long userId) {
+        return Optional.ofNullable(cache.getIfPresent(userId));
+    }
+
+    public void put(UserDTO user) {
+        if (user != null && user.id() != null) {
+            cache.put(user.id(), user);
+        }
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+}
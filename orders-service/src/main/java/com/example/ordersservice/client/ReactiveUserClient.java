@@ -0,0 +1,87 @@
+package com.example.ordersservice.client;
+
+import com.example.gatewayauth.GatewayToken;
+import com.example.gatewayauth.GatewayTokenSigner;
+import com.example.ordersservice.config.BinaryJsonConfig;
+import com.example.ordersservice.DTO.UserDTO;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Neblokirajući klijent ka users-service (lb://users-service preko WebClient-a).
+ * Koristi iste "userService" CircuitBreaker i Retry instance kao anotirani Feign put,
+ * ali preko Resilience4j reactor operatora, i isti adaptivni limit ka users-service.
+ * Odgovore traži u istom binarnom formatu kao Feign ({@code users.transport.format}).
+ */
+@Component
+public class ReactiveUserClient {
+
+    private static final ParameterizedTypeReference<List<UserDTO>> USER_LIST = new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+
+    public ReactiveUserClient(WebClient.Builder loadBalancedWebClientBuilder,
+                              GatewayTokenSigner tokenSigner,
+                              ExchangeFilterFunction usersServiceLimiterFilter,
+                              CircuitBreakerRegistry circuitBreakerRegistry,
+                              RetryRegistry retryRegistry,
+                              @Value("${users.reactive.response-timeout:1000ms}") Duration responseTimeout,
+                              @Value("${users.transport.format:smile}") String format) {
+        this.webClient = loadBalancedWebClientBuilder
+                .baseUrl("http://users-service")
+                .defaultHeader(HttpHeaders.ACCEPT, BinaryJsonConfig.usersServiceAccept(format))
+                .filter((request, next) -> next.exchange(ClientRequest.from(request)
+                        .header(GatewayToken.HEADER, tokenSigner.currentToken())
+                        .build()))
+                .filter(usersServiceLimiterFilter)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create().responseTimeout(responseTimeout)))
+                .build();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker("userService");
+        this.retry = retryRegistry.retry("userService");
+    }
+
+    public Mono<UserDTO> getUserById(Long id) {
+        return webClient.get()
+                .uri("/users/{id}", id)
+                .retrieve()
+                .bodyToMono(UserDTO.class)
+                .onErrorMap(WebClientResponseException.NotFound.class,
+                        e -> new IllegalArgumentException("User not found with ID " + id))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(RetryOperator.of(retry));
+    }
+
+    public Mono<List<UserDTO>> getUsersByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        return webClient.post()
+                .uri("/users/batch")
+                .bodyValue(ids)
+                .retrieve()
+                .bodyToMono(USER_LIST)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(RetryOperator.of(retry));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.ordersservice.config;
+
+import com.example.ordersservice.resilience.UsersServiceResilienceConfig;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import feign.RequestInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.Locale;
+
+/**
+ * Binarni Jackson format za odgovore users-service-a ({@code users.transport.format}: smile, cbor ili json).
+ * Feign i {@code ReactiveUserClient} traže izabrani format uz JSON kao rezervu, pa instanca bez Smile/CBOR
+ * konvertera i dalje odgovara JSON-om. Telo zahteva (lista ID-jeva za batch) ostaje JSON.
+ * Konverteri se registruju i ovde jer ih Feign dekoder uzima iz istih {@code HttpMessageConverters}.
+ */
+@Configuration
+public class BinaryJsonConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public RequestInterceptor usersServiceAcceptInterceptor(@Value("${users.transport.format:smile}") String format) {
+        String accept = usersServiceAccept(format);
+        return template -> {
+            if (UsersServiceResilienceConfig.USERS_SERVICE.equals(template.feignTarget().name())) {
+                template.removeHeader(HttpHeaders.ACCEPT);
+                template.header(HttpHeaders.ACCEPT, accept);
+            }
+        };
+    }
+
+    public static String usersServiceAccept(String format) {
+        return switch (format.toLowerCase(Locale.ROOT)) {
+            case "smile" -> APPLICATION_SMILE_VALUE + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.5";
+            case "cbor" -> MediaType.APPLICATION_CBOR_VALUE + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.5";
+            case "json" -> MediaType.APPLICATION_JSON_VALUE;
+            default -> throw new IllegalArgumentException("Unknown users.transport.format: " + format);
+        };
+    }
+}
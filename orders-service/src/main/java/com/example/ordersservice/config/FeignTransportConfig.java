@@ -0,0 +1,53 @@
+package com.example.ordersservice.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Transport za Feign klijente. Podrazumevano je Apache HttpClient 5 sa pool-om konekcija
+ * ({@code spring.cloud.openfeign.httpclient.*}: limit ukupno i po instanci, TTL); ovde se dodaju keep-alive,
+ * izbacivanje neaktivnih konekcija i metrike pool-a. Sa {@code spring.cloud.openfeign.http2client.enabled=true}
+ * (i {@code httpclient.hc5.enabled=false}) Feign koristi JDK HttpClient i HTTP/2 cleartext ka users-service.
+ */
+@Configuration
+public class FeignTransportConfig {
+
+    /**
+     * Konekcija se drži otvorenom najviše {@code keepAlive} (ili kraće ako server tako javi), a neaktivne se
+     * zatvaraju posle {@code idleTimeout} – oba kraća od keep-alive timeout-a users-service-a, da klijent ne bi
+     * poslao zahtev na konekciju koju je server upravo zatvorio.
+     */
+    @Bean
+    public HttpClient5FeignConfiguration.HttpClientBuilderCustomizer feignKeepAliveCustomizer(
+            @Value("${users.transport.keep-alive:30s}") Duration keepAlive,
+            @Value("${users.transport.idle-timeout:15s}") Duration idleTimeout) {
+        TimeValue maxKeepAlive = TimeValue.ofMilliseconds(keepAlive.toMillis());
+        return builder -> builder
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue announced = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return TimeValue.isPositive(announced) && announced.compareTo(maxKeepAlive) < 0 ? announced : maxKeepAlive;
+                })
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeout.toMillis()));
+    }
+
+    /** httpcomponents.httpclient.pool.* (leased/available/pending/max) za pool koji koristi Feign. */
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> {
+            if (connectionManager.getIfAvailable() instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        };
+    }
+}
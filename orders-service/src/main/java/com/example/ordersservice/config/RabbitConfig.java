@@ -1,14 +1,139 @@
 package com.example.ordersservice.config;
 
+import com.example.ordersservice.event.OrderCreatedEventMessageConverter;
+import com.example.ordersservice.publisher.OrderEventPublisher;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.JacksonUtils;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class RabbitConfig {
 
+    public static final String USERS_EVENTS_EXCHANGE = "users.events";
+    public static final String ORDERS_EVENTS_EXCHANGE = "orders.events";
+    public static final String ORDERS_DLX = "orders.dlx";
+    public static final String ORDER_CREATED_DLQ = OrderEventPublisher.ORDER_CREATED_QUEUE + ".dlq";
+
+    // Poruke koje listener odbije završavaju u DLQ umesto da se beskonačno vraćaju u red
     @Bean
     public Queue orderCreatedQueue() {
-        return new Queue("orderCreatedQueue", false);
+        return QueueBuilder.durable(OrderEventPublisher.ORDER_CREATED_QUEUE)
+                .deadLetterExchange(ORDERS_DLX)
+                .deadLetterRoutingKey(ORDER_CREATED_DLQ)
+                .build();
+    }
+
+    @Bean
+    public DirectExchange ordersDeadLetterExchange() {
+        return new DirectExchange(ORDERS_DLX);
+    }
+
+    @Bean
+    public Queue orderCreatedDeadLetterQueue() {
+        return QueueBuilder.durable(ORDER_CREATED_DLQ).build();
+    }
+
+    @Bean
+    public Binding orderCreatedDeadLetterBinding(Queue orderCreatedDeadLetterQueue, DirectExchange ordersDeadLetterExchange) {
+        return BindingBuilder.bind(orderCreatedDeadLetterQueue).to(ordersDeadLetterExchange).with(ORDER_CREATED_DLQ);
+    }
+
+    /**
+     * Batch listener za OrderCreated događaje: svaki consumer prima do batch-size poruka
+     * i potvrđuje ih jednim ack-om. Concurrency 0 znači broj procesorskih jezgara.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory orderEventsContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            @Value("${orders.events.consumer.concurrency:0}") int concurrency,
+            @Value("${orders.events.consumer.max-concurrency:0}") int maxConcurrency,
+            @Value("${orders.events.consumer.prefetch:250}") int prefetch,
+            @Value("${orders.events.consumer.batch-size:50}") int batchSize,
+            @Value("${orders.events.consumer.batch-receive-timeout:100ms}") Duration batchReceiveTimeout) {
+        int consumers = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setConcurrentConsumers(consumers);
+        factory.setMaxConcurrentConsumers(Math.max(consumers, maxConcurrency > 0 ? maxConcurrency : consumers * 2));
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setBatchReceiveTimeout(batchReceiveTimeout.toMillis());
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+
+    // Boot ga koristi za RabbitTemplate i podrazumevani listener container
+    @Bean
+    public MessageConverter orderEventMessageConverter() {
+        return new OrderCreatedEventMessageConverter();
+    }
+
+    // OrderChanged događaji (kreiranje/izmena/brisanje) za sve zainteresovane, npr. keš u api-gateway-u
+    @Bean
+    public FanoutExchange ordersEventsExchange() {
+        return new FanoutExchange(ORDERS_EVENTS_EXCHANGE);
+    }
+
+    // Svaka instanca orders-service dobija i sopstveni red za izmene porudžbina sa drugih instanci
+    @Bean
+    public Queue orderChangedQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding orderChangedBinding(Queue orderChangedQueue, FanoutExchange ordersEventsExchange) {
+        return BindingBuilder.bind(orderChangedQueue).to(ordersEventsExchange);
+    }
+
+    // Svaka instanca orders-service dobija sopstveni red da bi invalidirala svoj keš
+    @Bean
+    public FanoutExchange usersEventsExchange() {
+        return new FanoutExchange(USERS_EVENTS_EXCHANGE);
+    }
+
+    @Bean
+    public Queue userChangedQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding userChangedBinding(Queue userChangedQueue, FanoutExchange usersEventsExchange) {
+        return BindingBuilder.bind(userChangedQueue).to(usersEventsExchange);
+    }
+
+    // JSON događaji sa fanout exchange-a (users.events, orders.events)
+    @Bean
+    public SimpleRabbitListenerContainerFactory jsonEventsContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(jsonEventsMessageConverter());
+        return factory;
+    }
+
+    // Pojedinačan događaj se prima i kao lista od jednog elementa, pa isti listener obrađuje i batch poruke
+    public static MessageConverter jsonEventsMessageConverter() {
+        ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper()
+                .enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+        return new Jackson2JsonMessageConverter(objectMapper);
     }
 }
@@ -57,7 +57,7 @@ public class Resilience4jEventLogger {
     }
 
     private void onSuccess(CircuitBreakerEvent event) {
-        log.info("✅ CircuitBreaker '{}' SUCCESS: call succeeded",
+        log.debug("✅ CircuitBreaker '{}' SUCCESS: call succeeded",
                 event.getCircuitBreakerName());
     }
 
@@ -70,7 +70,7 @@ public class Resilience4jEventLogger {
     }
 
     private void onRetrySuccess(RetryEvent event) {
-        log.info("🎯 Retry '{}' succeeded after {} attempts",
+        log.debug("🎯 Retry '{}' succeeded after {} attempts",
                 event.getName(),
                 event.getNumberOfRetryAttempts());
     }
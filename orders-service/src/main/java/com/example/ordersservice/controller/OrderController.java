@@ -1,46 +1,105 @@
 package com.example.ordersservice.controller;
 
 import com.example.ordersservice.feign.UserClient;
+import com.example.ordersservice.DTO.BulkOrderReport;
+import com.example.ordersservice.DTO.OrderDTO;
 import com.example.ordersservice.DTO.UserDTO;
+import com.example.ordersservice.mapper.OrderMapper;
 import com.example.ordersservice.model.Order;
 import com.example.ordersservice.model.OrderDetails;
+import com.example.ordersservice.readmodel.OrderDetailsReadModel;
+import com.example.ordersservice.service.OrderBulkService;
 import com.example.ordersservice.service.OrderService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
 
     private static final Logger log = LoggerFactory.getLogger(OrderController.class);
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
     private final OrderService orderService;
+    private final OrderBulkService orderBulkService;
     private final UserClient userClient;
+    private final ObjectMapper objectMapper;
+    private final OrderDetailsReadModel readModel;
 
-    public OrderController(OrderService orderService, UserClient userClient) {
+    public OrderController(OrderService orderService, OrderBulkService orderBulkService,
+                           UserClient userClient, ObjectMapper objectMapper, OrderDetailsReadModel readModel) {
         this.orderService = orderService;
+        this.orderBulkService = orderBulkService;
         this.userClient = userClient;
+        this.objectMapper = objectMapper;
+        this.readModel = readModel;
     }
 
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        log.info("📋 Fetching all orders...");
-        List<Order> orders = orderService.getAllOrders();
-        log.info("✅ {} orders retrieved successfully", orders.size());
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<Order>> getAllOrders(@RequestParam(required = false) Long after,
+                                                    @RequestParam(required = false) Integer limit) {
+        if (after == null && limit == null) {
+            log.debug("📋 Fetching all orders...");
+            List<Order> orders = orderService.getAllOrders();
+            log.debug("✅ {} orders retrieved successfully", orders.size());
+            return ResponseEntity.ok(orders);
+        }
+
+        int pageSize = Math.min(Math.max(limit == null ? DEFAULT_PAGE_SIZE : limit, 1), MAX_PAGE_SIZE);
+        List<Order> page = orderService.getOrdersPage(after == null ? 0L : after, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.get(page.size() - 1).getId()));
+        }
+        return response.body(page);
+    }
+
+    @GetMapping(params = "userId")
+    public ResponseEntity<List<OrderDTO>> getOrdersByUser(@RequestParam Long userId,
+                                                          @RequestParam(required = false) Long after,
+                                                          @RequestParam(required = false) Integer limit) {
+        int pageSize = Math.min(Math.max(limit == null ? DEFAULT_PAGE_SIZE : limit, 1), MAX_PAGE_SIZE);
+        List<OrderDTO> page = orderService.getOrdersForUser(userId, after == null ? 0L : after, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.get(page.size() - 1).id()));
+        }
+        return response.body(page);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllOrders() {
+        log.debug("🌊 Streaming all orders as NDJSON...");
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                json.setRootValueSeparator(null);
+                orderService.streamAllOrders(order -> writeLine(json, order));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getOrderById(@PathVariable Long id) {
-        log.info("🔍 Getting order with ID {}", id);
+        log.debug("🔍 Getting order with ID {}", id);
         return orderService.getOrderById(id)
                 .<ResponseEntity<?>>map(o -> {
-                    log.info("✅ Found order with ID {}", id);
+                    log.debug("✅ Found order with ID {}", id);
                     return ResponseEntity.ok(o);
                 })
                 .orElseGet(() -> {
@@ -52,7 +111,11 @@ public class OrderController {
 
     @GetMapping("/{id}/details")
     public ResponseEntity<?> getOrderDetails(@PathVariable Long id) {
-        log.info("🔗 Fetching aggregated details for order ID {}", id);
+        log.debug("🔗 Fetching aggregated details for order ID {}", id);
+        Optional<OrderDetails> local = readModel.find(id);
+        if (local.isPresent()) {
+            return ResponseEntity.ok(local.get());
+        }
         try {
             var details = orderService.getOrderDetails(id);
             return ResponseEntity.ok(details);
@@ -68,11 +131,11 @@ public class OrderController {
 
     @PostMapping
     public ResponseEntity<?> createOrder(@Valid @RequestBody Order order) {
-        log.info("🧾 Request to create new order for user ID {}", order.getUserId());
+        log.debug("🧾 Request to create new order for user ID {}", order.getUserId());
         try {
             Order saved = orderService.createOrder(order);
-            log.info("✅ Order created successfully with ID {}", saved.getId());
-            return ResponseEntity.status(HttpStatus.CREATED).body(orderService.toDTO(saved));
+            log.debug("✅ Order created successfully with ID {}", saved.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(OrderMapper.toDTO(saved));
         } catch (IllegalArgumentException e) {
             log.warn("🚫 Validation failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
@@ -82,16 +145,34 @@ public class OrderController {
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createOrdersBulk(@RequestBody List<Order> orders) {
+        log.debug("📦 Request to bulk create {} orders", orders.size());
+        try {
+            BulkOrderReport report = orderBulkService.createOrders(orders);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            log.warn("🚫 Bulk request rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            log.error("💥 Service unavailable: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateOrder(@PathVariable Long id, @Valid @RequestBody Order updatedOrder) {
-        log.info("✏️ Request to update order with ID {}", id);
+        log.debug("✏️ Request to update order with ID {}", id);
         try {
             Order saved = orderService.updateOrder(id, updatedOrder);
-            log.info("✅ Order {} updated successfully", id);
-            return ResponseEntity.ok(orderService.toDTO(saved));
+            log.debug("✅ Order {} updated successfully", id);
+            return ResponseEntity.ok(OrderMapper.toDTO(saved));
         } catch (IllegalArgumentException e) {
             log.warn("⚠️ {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            log.warn("⚠️ {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
             log.error("💥 Error updating order {}: {}", id, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error updating order.");
@@ -100,11 +181,14 @@ public class OrderController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteOrder(@PathVariable Long id) {
-        log.info("🗑️ Request to delete order with ID {}", id);
+        log.debug("🗑️ Request to delete order with ID {}", id);
         try {
             orderService.deleteOrder(id);
-            log.info("✅ Successfully deleted order {}", id);
+            log.debug("✅ Successfully deleted order {}", id);
             return ResponseEntity.noContent().build();
+        } catch (IllegalStateException e) {
+            log.warn("⚠️ {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
             log.error("💥 Error deleting order {}: {}", id, e.getMessage());
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -124,4 +208,13 @@ public class OrderController {
         log.error("💥 Runtime error: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ex.getMessage());
     }
+
+    private static void writeLine(JsonGenerator json, Object row) {
+        try {
+            json.writeObject(row);
+            json.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
\ No newline at end of file
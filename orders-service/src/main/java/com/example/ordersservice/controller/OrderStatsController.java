@@ -0,0 +1,36 @@
+package com.example.ordersservice.controller;
+
+import com.example.ordersservice.DTO.UserOrderStats;
+import com.example.ordersservice.stats.UserOrderAggregates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/orders/stats")
+public class OrderStatsController {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatsController.class);
+    private static final int MAX_TOP = 1000;
+
+    private final UserOrderAggregates aggregates;
+
+    public OrderStatsController(UserOrderAggregates aggregates) {
+        this.aggregates = aggregates;
+    }
+
+    @GetMapping("/users/{id}")
+    public UserOrderStats getUserStats(@PathVariable Long id) {
+        log.debug("📊 Fetching order stats for user ID {}", id);
+        return aggregates.get(id);
+    }
+
+    @GetMapping("/users/top")
+    public List<UserOrderStats> getTopUsers(@RequestParam(defaultValue = "10") int limit) {
+        int n = Math.min(Math.max(limit, 1), MAX_TOP);
+        log.debug("🏆 Fetching top {} users by order total", n);
+        return aggregates.top(n);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ordersservice.controller;
+
+import com.example.ordersservice.model.OrderDetails;
+import com.example.ordersservice.service.ReactiveOrderDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/orders")
+public class ReactiveOrderDetailsController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveOrderDetailsController.class);
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactiveOrderDetailsService detailsService;
+
+    public ReactiveOrderDetailsController(ReactiveOrderDetailsService detailsService) {
+        this.detailsService = detailsService;
+    }
+
+    @GetMapping("/{id}/details/reactive")
+    public Mono<ResponseEntity<Object>> getOrderDetails(@PathVariable Long id) {
+        log.debug("🔗 Fetching aggregated details (non-blocking) for order ID {}", id);
+        return detailsService.getOrderDetails(id)
+                .<ResponseEntity<Object>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> {
+                    log.warn("⚠️ {}", e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage()));
+                });
+    }
+
+    @GetMapping("/details/reactive")
+    public Mono<List<OrderDetails>> getOrderDetailsPage(@RequestParam(defaultValue = "0") Long after,
+                                                        @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        log.debug("🔗 Fetching aggregated details (non-blocking) for {} orders after ID {}", pageSize, after);
+        return detailsService.getOrderDetailsPage(after, pageSize);
+    }
+}
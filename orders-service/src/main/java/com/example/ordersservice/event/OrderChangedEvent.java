@@ -0,0 +1,32 @@
+package com.example.ordersservice.event;
+
+import com.example.ordersservice.model.Order;
+
+import java.math.BigDecimal;
+
+/**
+ * Izmena porudžbine na fanout exchange-u orders.events. Pored ID-ja nosi novo stanje i (za izmenu i brisanje)
+ * prethodnog korisnika i cenu, pa druge instance orders-service-a primenjuju razliku bez upita u bazu.
+ * {@code origin} je instanca koja je događaj poslala – ona ga je već primenila lokalno.
+ */
+public record OrderChangedEvent(Long orderId, Type type, String origin,
+                                Long userId, String productName, BigDecimal price,
+                                Long previousUserId, BigDecimal previousPrice) {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    public static OrderChangedEvent created(String origin, Order order) {
+        return new OrderChangedEvent(order.getId(), Type.CREATED, origin,
+                order.getUserId(), order.getProductName(), order.getPrice(), null, null);
+    }
+
+    public static OrderChangedEvent updated(String origin, Long previousUserId, BigDecimal previousPrice, Order order) {
+        return new OrderChangedEvent(order.getId(), Type.UPDATED, origin,
+                order.getUserId(), order.getProductName(), order.getPrice(), previousUserId, previousPrice);
+    }
+
+    public static OrderChangedEvent deleted(String origin, Order order) {
+        return new OrderChangedEvent(order.getId(), Type.DELETED, origin,
+                null, null, null, order.getUserId(), order.getPrice());
+    }
+}
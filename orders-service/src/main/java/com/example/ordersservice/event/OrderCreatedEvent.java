@@ -0,0 +1,13 @@
+package com.example.ordersservice.event;
+
+import com.example.ordersservice.model.Order;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record OrderCreatedEvent(long orderId, long userId, String productName, BigDecimal price, Instant createdAt) {
+
+    public static OrderCreatedEvent from(Order order) {
+        return new OrderCreatedEvent(order.getId(), order.getUserId(), order.getProductName(), order.getPrice(), Instant.now());
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.ordersservice.event;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Kompaktni binarni format za OrderCreated događaje (verzija 1).
+ * <pre>
+ * magic(1) version(1) count(varint)
+ * po događaju: orderId(varlong) userId(varlong) priceUnscaled(zigzag varlong) priceScale(1)
+ *              createdAtMillis(varlong) productNameLength(varint) productName(UTF-8)
+ * </pre>
+ * Jedna poruka nosi jedan ili više događaja (batch iz masovnog unosa).
+ */
+public final class OrderCreatedEventCodec {
+
+    public static final String CONTENT_TYPE = "application/vnd.microshop.order-created.v1+binary";
+
+    static final byte MAGIC = 0x4F;
+    static final byte VERSION = 1;
+
+    // Svako polje događaja zauzima bar jedan bajt: orderId, userId, cena, skala, createdAt i dužina naziva
+    static final int MIN_EVENT_SIZE = 6;
+
+    private OrderCreatedEventCodec() {
+    }
+
+    public static byte[] encode(List<OrderCreatedEvent> events) {
+        Writer out = new Writer(16 + events.size() * 48);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeVarLong(events.size());
+        for (OrderCreatedEvent event : events) {
+            out.writeVarLong(event.orderId());
+            out.writeVarLong(event.userId());
+            out.writeVarLong(zigZag(event.price().unscaledValue().longValueExact()));
+            out.writeByte(event.price().scale());
+            out.writeVarLong(event.createdAt().toEpochMilli());
+            out.writeString(event.productName());
+        }
+        return out.toByteArray();
+    }
+
+    public static List<OrderCreatedEvent> decode(byte[] bytes) {
+        Reader in = new Reader(bytes);
+        if (in.readByte() != MAGIC) {
+            throw new IllegalArgumentException("Not an OrderCreated event payload");
+        }
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported OrderCreated event version " + version);
+        }
+        long count = in.readVarLong();
+        if (count < 0 || count > in.remaining() / MIN_EVENT_SIZE) {
+            throw new IllegalArgumentException("Invalid OrderCreated event count " + count);
+        }
+        List<OrderCreatedEvent> events = new ArrayList<>((int) count);
+        for (int i = 0; i < count; i++) {
+            long orderId = in.readVarLong();
+            long userId = in.readVarLong();
+            long unscaledPrice = unZigZag(in.readVarLong());
+            int scale = in.readByte();
+            long createdAt = in.readVarLong();
+            String productName = in.readString();
+            events.add(new OrderCreatedEvent(orderId, userId, productName,
+                    BigDecimal.valueOf(unscaledPrice, scale), Instant.ofEpochMilli(createdAt)));
+        }
+        return events;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        Writer(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, buffer, position, utf8.length);
+            position += utf8.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        int readByte() {
+            checkAvailable(1);
+            return buffer[position++];
+        }
+
+        long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                checkAvailable(1);
+                byte b = buffer[position++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in OrderCreated event payload");
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            checkAvailable(length);
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        int remaining() {
+            return buffer.length - position;
+        }
+
+        private void checkAvailable(int count) {
+            if (count < 0 || position + count > buffer.length) {
+                throw new IllegalArgumentException("Truncated OrderCreated event payload");
+            }
+        }
+    }
+}
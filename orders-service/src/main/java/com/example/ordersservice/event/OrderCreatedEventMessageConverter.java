@@ -0,0 +1,62 @@
+package com.example.ordersservice.event;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+
+import java.util.List;
+
+/**
+ * Pretvara OrderCreated događaje u binarni format ({@link OrderCreatedEventCodec}).
+ * Sve ostale poruke prepušta delegatu, pa postojeći tekstualni tokovi rade kao ranije.
+ */
+public class OrderCreatedEventMessageConverter implements MessageConverter {
+
+    private final MessageConverter delegate;
+
+    public OrderCreatedEventMessageConverter() {
+        this(new SimpleMessageConverter());
+    }
+
+    public OrderCreatedEventMessageConverter(MessageConverter delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) throws MessageConversionException {
+        List<OrderCreatedEvent> events = asEvents(object);
+        if (events == null) {
+            return delegate.toMessage(object, messageProperties);
+        }
+        byte[] body = OrderCreatedEventCodec.encode(events);
+        messageProperties.setContentType(OrderCreatedEventCodec.CONTENT_TYPE);
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws MessageConversionException {
+        if (!OrderCreatedEventCodec.CONTENT_TYPE.equals(message.getMessageProperties().getContentType())) {
+            return delegate.fromMessage(message);
+        }
+        try {
+            return OrderCreatedEventCodec.decode(message.getBody());
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException("Failed to decode OrderCreated event", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<OrderCreatedEvent> asEvents(Object object) {
+        if (object instanceof OrderCreatedEvent event) {
+            return List.of(event);
+        }
+        if (object instanceof List<?> list && !list.isEmpty()
+                && list.stream().allMatch(OrderCreatedEvent.class::isInstance)) {
+            return (List<OrderCreatedEvent>) list;
+        }
+        return null;
+    }
+}
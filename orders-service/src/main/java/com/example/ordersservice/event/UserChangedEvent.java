@@ -0,0 +1,7 @@
+package com.example.ordersservice.event;
+
+// name/email su novo stanje korisnika; null za DELETED i za događaje starijih verzija users-service-a
+public record UserChangedEvent(Long userId, Type type, String name, String email) {
+
+    public enum Type { UPDATED, DELETED }
+}
@@ -4,10 +4,18 @@ import com.example.ordersservice.DTO.UserDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(name = "users-service")
 public interface UserClient {
 
     @GetMapping("/users/{id}")
     UserDTO getUserById(@PathVariable Long id);
-}
\ No newline at end of file
+
+    @PostMapping("/users/batch")
+    List<UserDTO> getUsersByIds(@RequestBody Collection<Long> ids);
+}
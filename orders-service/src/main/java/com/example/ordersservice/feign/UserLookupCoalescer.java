@@ -0,0 +1,166 @@
+package com.example.ordersservice.feign;
+
+import com.example.ordersservice.DTO.UserDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skuplja istovremene pojedinačne upite za korisnike u kratkom prozoru i šalje ih
+ * kao jedan {@code POST /users/batch} poziv. Upit dok nijedan drugi nije u toku ide odmah,
+ * bez čekanja; prozor se otvara tek kada upit stigne dok je drugi poziv ka users-service u toku.
+ * Nit koja otvori prozor je "lider": ona čeka do isteka prozora (ili dok se batch ne napuni)
+ * i izvršava poziv za sve.
+ */
+@Component
+public class UserLookupCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(UserLookupCoalescer.class);
+
+    private final UserClient userClient;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+    private Batch current;
+    // Pozivi ka users-service (pojedinačni i batch) koji su trenutno u toku
+    private int inFlight;
+
+    public UserLookupCoalescer(UserClient userClient,
+                               @Value("${users.lookup.coalescing.enabled:true}") boolean enabled,
+                               @Value("${users.lookup.coalescing.window:5ms}") Duration window,
+                               @Value("${users.lookup.coalescing.max-batch-size:100}") int maxBatchSize) {
+        this.userClient = userClient;
+        this.enabled = enabled && !window.isZero() && maxBatchSize > 1;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public UserDTO getUserById(Long id) {
+        if (!enabled) {
+            return userClient.getUserById(id);
+        }
+
+        Batch batch;
+        CompletableFuture<UserDTO> result;
+        boolean leader = false;
+        synchronized (lock) {
+            if (current == null && inFlight == 0) {
+                inFlight++;
+                batch = null;
+                result = null;
+            } else {
+                if (current == null) {
+                    current = new Batch();
+                    leader = true;
+                }
+                batch = current;
+                result = batch.add(id);
+                if (batch.size() >= maxBatchSize) {
+                    current = null;
+                    batch.sealed.countDown();
+                }
+            }
+        }
+
+        if (batch == null) {
+            // Niko drugi ne čeka – nema razloga za prozor
+            try {
+                return userClient.getUserById(id);
+            } finally {
+                callFinished();
+            }
+        }
+        if (leader) {
+            awaitWindow(batch);
+            synchronized (lock) {
+                if (current == batch) {
+                    current = null;
+                }
+                inFlight++;
+            }
+            try {
+                dispatch(batch);
+            } finally {
+                callFinished();
+            }
+        }
+        return await(result);
+    }
+
+    private void callFinished() {
+        synchronized (lock) {
+            inFlight--;
+        }
+    }
+
+    private void awaitWindow(Batch batch) {
+        try {
+            batch.sealed.await(windowNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatch(Batch batch) {
+        Map<Long, CompletableFuture<UserDTO>> waiters = batch.waiters;
+        try {
+            if (waiters.size() == 1) {
+                Map.Entry<Long, CompletableFuture<UserDTO>> only = waiters.entrySet().iterator().next();
+                only.getValue().complete(userClient.getUserById(only.getKey()));
+                return;
+            }
+
+            log.debug("📚 Coalesced {} user lookups into one batch call", waiters.size());
+            List<UserDTO> users = userClient.getUsersByIds(waiters.keySet());
+            for (UserDTO user : users) {
+                CompletableFuture<UserDTO> waiter = waiters.get(user.id());
+                if (waiter != null) {
+                    waiter.complete(user);
+                }
+            }
+            waiters.forEach((id, waiter) -> {
+                if (!waiter.isDone()) {
+                    waiter.completeExceptionally(new IllegalArgumentException("User not found with ID " + id));
+                }
+            });
+        } catch (RuntimeException e) {
+            waiters.values().forEach(waiter -> waiter.completeExceptionally(e));
+        }
+    }
+
+    private static UserDTO await(CompletableFuture<UserDTO> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Batch {
+        private final Map<Long, CompletableFuture<UserDTO>> waiters = new HashMap<>();
+        private final CountDownLatch sealed = new CountDownLatch(1);
+
+        CompletableFuture<UserDTO> add(Long id) {
+            return waiters.computeIfAbsent(id, key -> new CompletableFuture<>());
+        }
+
+        int size() {
+            return waiters.size();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.ordersservice.listener;
+
+import com.example.ordersservice.publisher.OrderEventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prelazak sa starog, non-durable orderCreatedQueue na {@value OrderEventPublisher#ORDER_CREATED_QUEUE}:
+ * stari red se briše čim je prazan i bez consumer-a. Dok u njemu ima poruka (stare instance ih još troše),
+ * ostaje i samo se upozorava.
+ */
+@Component
+public class LegacyOrderQueueCleanup {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyOrderQueueCleanup.class);
+    private final AmqpAdmin amqpAdmin;
+
+    public LegacyOrderQueueCleanup(AmqpAdmin amqpAdmin) {
+        this.amqpAdmin = amqpAdmin;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void deleteLegacyQueue() {
+        try {
+            QueueInformation legacy = amqpAdmin.getQueueInfo(OrderEventPublisher.LEGACY_ORDER_CREATED_QUEUE);
+            if (legacy == null) {
+                return;
+            }
+            if (legacy.getMessageCount() > 0 || legacy.getConsumerCount() > 0) {
+                log.warn("⚠️ Legacy queue {} still has {} messages and {} consumers — leaving it until drained",
+                        legacy.getName(), legacy.getMessageCount(), legacy.getConsumerCount());
+                return;
+            }
+            amqpAdmin.deleteQueue(legacy.getName(), true, true);
+            log.info("🧹 Deleted empty legacy queue {}", legacy.getName());
+        } catch (AmqpException e) {
+            log.debug("Legacy queue cleanup skipped: {}", e.getMessage());
+        }
+    }
+}
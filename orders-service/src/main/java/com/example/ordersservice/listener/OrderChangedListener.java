@@ -0,0 +1,53 @@
+package com.example.ordersservice.listener;
+
+import com.example.ordersservice.event.OrderChangedEvent;
+import com.example.ordersservice.publisher.OrderChangedEventPublisher;
+import com.example.ordersservice.readmodel.OrderDetailsReadModel;
+import com.example.ordersservice.stats.UserOrderAggregates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Izmene porudžbina sa drugih instanci orders-service-a: svaka instanca ima sopstveni red na orders.events,
+ * pa lokalni agregati i model za čitanje prate upise na svim instancama. Sopstveni događaji se preskaču.
+ * Posle (ponovnog) povezivanja agregati se prave iznova iz baze, kao što api-gateway tada prazni svoj keš.
+ */
+@Component
+public class OrderChangedListener {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderChangedListener.class);
+    private final OrderChangedEventPublisher changedPublisher;
+    private final UserOrderAggregates aggregates;
+    private final OrderDetailsReadModel readModel;
+
+    public OrderChangedListener(OrderChangedEventPublisher changedPublisher, UserOrderAggregates aggregates,
+                                OrderDetailsReadModel readModel, ConnectionFactory connectionFactory) {
+        this.changedPublisher = changedPublisher;
+        this.aggregates = aggregates;
+        this.readModel = readModel;
+        // Događaji poslati dok veza nije postojala (ili pre nego što je novi red vezan) su izgubljeni
+        connectionFactory.addConnectionListener(connection -> {
+            log.info("🔌 [RabbitMQ] Connected — rebuilding order aggregates from the database");
+            aggregates.rebuild();
+        });
+    }
+
+    // Poruka nosi jedan događaj ili niz događaja (chunk masovnog unosa)
+    @RabbitListener(queues = "#{orderChangedQueue.name}", containerFactory = "jsonEventsContainerFactory")
+    public void handleOrderChanged(List<OrderChangedEvent> events) {
+        for (OrderChangedEvent event : events) {
+            if (changedPublisher.isOwn(event)) {
+                continue;
+            }
+            log.debug("📬 [RabbitMQ] Order {} {} on another instance — applying to aggregates and read model",
+                    event.orderId(), event.type());
+            aggregates.orderChanged(event);
+            readModel.orderChanged(event);
+        }
+    }
+}
@@ -1,19 +1,91 @@
 package com.example.ordersservice.listener;
 
+import com.example.ordersservice.config.RabbitConfig;
+import com.example.ordersservice.event.OrderCreatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
 @Component
 public class OrderEventListener {
 
     private static final Logger log = LoggerFactory.getLogger(OrderEventListener.class);
 
-    @RabbitListener(queues = "orderCreatedQueue")
-    public void handleOrderCreated(String message) {
-        log.info("📬 [RabbitMQ] Received new event from 'orderCreatedQueue'");
-        log.info("💡 Event content: {}", message);
-        log.info("✅ Event successfully processed and acknowledged 🟢");
+    private final MessageConverter messageConverter;
+    private final RabbitTemplate rabbitTemplate;
+    private final Counter consumedCounter;
+    private final Counter deadLetteredCounter;
+    private final DistributionSummary batchSize;
+    private final Timer lag;
+    private final Timer consumeTimer;
+
+    public OrderEventListener(MessageConverter messageConverter, RabbitTemplate rabbitTemplate, MeterRegistry meterRegistry) {
+        this.messageConverter = messageConverter;
+        this.rabbitTemplate = rabbitTemplate;
+        this.consumedCounter = meterRegistry.counter("orders.events.consumed");
+        this.deadLetteredCounter = meterRegistry.counter("orders.events.dead.lettered");
+        this.batchSize = DistributionSummary.builder("orders.events.batch.size")
+                .description("Number of messages per consumed batch")
+                .register(meterRegistry);
+        this.lag = Timer.builder("orders.events.lag")
+                .description("Time between order creation and event consumption")
+                .register(meterRegistry);
+        this.consumeTimer = Timer.builder("orders.events.consume")
+                .description("Time to process one consumed batch")
+                .register(meterRegistry);
+    }
+
+    // Ceo batch se potvrđuje jednim ack-om; ako obrada pukne, container ga šalje u DLQ
+    @RabbitListener(queues = "#{orderCreatedQueue.name}", containerFactory = "orderEventsContainerFactory")
+    public void handleOrderCreated(List<Message> messages) {
+        consumeTimer.record(() -> consume(messages));
+    }
+
+    private void consume(List<Message> messages) {
+        batchSize.record(messages.size());
+        Instant now = Instant.now();
+        int events = 0;
+        for (Message message : messages) {
+            List<OrderCreatedEvent> decoded = decode(message);
+            if (decoded == null) {
+                continue;
+            }
+            for (OrderCreatedEvent event : decoded) {
+                lag.record(Duration.between(event.createdAt(), now));
+                log.debug("💡 Order {} created for user {}: {} ({})",
+                        event.orderId(), event.userId(), event.productName(), event.price());
+            }
+            events += decoded.size();
+        }
+        consumedCounter.increment(events);
+        log.debug("📬 [RabbitMQ] Processed {} OrderCreated event(s) from {} message(s) 🟢", events, messages.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OrderCreatedEvent> decode(Message message) {
+        try {
+            if (messageConverter.fromMessage(message) instanceof List<?> events) {
+                return (List<OrderCreatedEvent>) events;
+            }
+        } catch (MessageConversionException e) {
+            log.warn("⚠️ Undecodable OrderCreated message {}: {}", message.getMessageProperties().getMessageId(), e.getMessage());
+        }
+        // Poison poruka ide u DLQ, ostatak batch-a se obrađuje normalno
+        rabbitTemplate.send(RabbitConfig.ORDERS_DLX, RabbitConfig.ORDER_CREATED_DLQ, message);
+        deadLetteredCounter.increment();
+        return null;
     }
 }
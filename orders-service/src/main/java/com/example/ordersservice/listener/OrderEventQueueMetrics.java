@@ -0,0 +1,59 @@
+package com.example.ordersservice.listener;
+
+import com.example.ordersservice.config.RabbitConfig;
+import com.example.ordersservice.publisher.OrderEventPublisher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodično čita dubinu orderCreatedQueue i DLQ sa brokera, da scrape metrika
+ * ne bi svaki put išao do RabbitMQ-a. Vrednost -1 znači da broker nije dostupan.
+ */
+@Component
+public class OrderEventQueueMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventQueueMetrics.class);
+
+    private final AmqpAdmin amqpAdmin;
+    private final AtomicLong queueDepth = new AtomicLong(-1);
+    private final AtomicLong deadLetterDepth = new AtomicLong(-1);
+    private final AtomicLong consumers = new AtomicLong(-1);
+
+    public OrderEventQueueMetrics(AmqpAdmin amqpAdmin, MeterRegistry meterRegistry) {
+        this.amqpAdmin = amqpAdmin;
+        Gauge.builder("orders.events.queue.depth", queueDepth, AtomicLong::get)
+                .description("Messages waiting in orderCreatedQueue")
+                .register(meterRegistry);
+        Gauge.builder("orders.events.queue.consumers", consumers, AtomicLong::get)
+                .description("Consumers attached to orderCreatedQueue")
+                .register(meterRegistry);
+        Gauge.builder("orders.events.dlq.depth", deadLetterDepth, AtomicLong::get)
+                .description("Messages in the orderCreatedQueue dead-letter queue")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.events.queue-metrics.interval:5s}")
+    public void refresh() {
+        try {
+            QueueInformation queue = amqpAdmin.getQueueInfo(OrderEventPublisher.ORDER_CREATED_QUEUE);
+            QueueInformation deadLetters = amqpAdmin.getQueueInfo(RabbitConfig.ORDER_CREATED_DLQ);
+            queueDepth.set(queue != null ? queue.getMessageCount() : -1);
+            consumers.set(queue != null ? queue.getConsumerCount() : -1);
+            deadLetterDepth.set(deadLetters != null ? deadLetters.getMessageCount() : -1);
+        } catch (AmqpException e) {
+            queueDepth.set(-1);
+            consumers.set(-1);
+            deadLetterDepth.set(-1);
+            log.debug("RabbitMQ queue info unavailable: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.ordersservice.listener;
+
+import com.example.ordersservice.cache.UserCache;
+import com.example.ordersservice.event.UserChangedEvent;
+import com.example.ordersservice.readmodel.OrderDetailsReadModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(UserEventListener.class);
+    private final UserCache userCache;
+    private final OrderDetailsReadModel readModel;
+
+    public UserEventListener(UserCache userCache, OrderDetailsReadModel readModel, ConnectionFactory connectionFactory) {
+        this.userCache = userCache;
+        this.readModel = readModel;
+        // UserChanged događaji dok veze nije bilo su propušteni; HTTP pozivi ne blokiraju nit koja otvara vezu
+        connectionFactory.addConnectionListener(connection -> {
+            log.info("🔌 [RabbitMQ] Connected — refreshing read model users");
+            Thread.ofVirtual().name("read-model-user-refresh").start(readModel::refreshUsers);
+        });
+    }
+
+    @RabbitListener(queues = "#{userChangedQueue.name}", containerFactory = "jsonEventsContainerFactory")
+    public void handleUserChanged(UserChangedEvent event) {
+        log.info("📬 [RabbitMQ] User {} {} — evicting cached entry, updating read model", event.userId(), event.type());
+        userCache.invalidate(event.userId());
+        readModel.userChanged(event);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.ordersservice.mapper;
+
+import com.example.ordersservice.DTO.OrderDTO;
+import com.example.ordersservice.model.Order;
+
+/**
+ * Mapiranje Order ↔ OrderDTO. Bez stanja i zavisnosti, pa se koristi direktno iz kontrolera i benchmark-a.
+ */
+public final class OrderMapper {
+
+    private OrderMapper() {
+    }
+
+    public static OrderDTO toDTO(Order order) {
+        return new OrderDTO(order.getId(), order.getUserId(), order.getProductName(), order.getPrice());
+    }
+
+    public static Order fromDTO(OrderDTO dto) {
+        Order order = new Order();
+        order.setId(dto.id());
+        order.setUserId(dto.userId());
+        order.setProductName(dto.productName());
+        order.setPrice(dto.price());
+        return order;
+    }
+}
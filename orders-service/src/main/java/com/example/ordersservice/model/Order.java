@@ -1,5 +1,6 @@
 package com.example.ordersservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
@@ -12,11 +13,14 @@ import java.math.BigDecimal;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "orders")
+// (userId, id) indeks: "porudžbine korisnika" je range scan po indeksu, a id je već u njemu za keyset paginaciju
+@Table(name = "orders", indexes = @Index(name = "idx_orders_user_id", columnList = "userId, id"))
 public class Order {
 
+    // Sequence + pooled optimizer (allocationSize) omogućava Hibernate-u JDBC batch insert
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "User ID is required")
@@ -31,4 +35,13 @@ public class Order {
     @Digits(integer = 10, fraction = 2, message = "Price must have up to 10 digits and 2 decimals")
     @Column(precision = 10, scale = 2)
     private BigDecimal price;
+
+    // Optimističko zaključavanje: istovremene izmene iste porudžbine ne smeju obe da primene razliku na agregate
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    public Order(Long id, Long userId, String productName, BigDecimal price) {
+        this(id, userId, productName, price, null);
+    }
 }
\ No newline at end of file
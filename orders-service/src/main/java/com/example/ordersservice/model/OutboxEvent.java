@@ -0,0 +1,39 @@
+package com.example.ordersservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String destination;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    // Jedan red nosi ceo chunk masovnog unosa (do orders.bulk.chunk-size događaja), pa veličina nije ograničena
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    public static OutboxEvent of(String destination, String contentType, byte[] payload) {
+        return new OutboxEvent(null, destination, contentType, payload, Instant.now());
+    }
+}
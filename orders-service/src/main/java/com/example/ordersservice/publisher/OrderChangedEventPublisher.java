@@ -0,0 +1,78 @@
+package com.example.ordersservice.publisher;
+
+import com.example.ordersservice.config.RabbitConfig;
+import com.example.ordersservice.event.OrderChangedEvent;
+import com.example.ordersservice.model.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Obaveštava potrošače (keš u api-gateway-u, druge instance orders-service-a) da je porudžbina kreirana,
+ * izmenjena ili obrisana. Šalje se direktno (best effort), kao i UserChanged iz users-service; zastareli unos
+ * u kešu u najgorem slučaju živi do isteka TTL-a.
+ */
+@Component
+public class OrderChangedEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderChangedEventPublisher.class);
+    private final RabbitTemplate rabbitTemplate;
+    private final MessageConverter jsonConverter = new Jackson2JsonMessageConverter();
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public OrderChangedEventPublisher(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    public void sendOrderCreated(Order order) {
+        send(OrderChangedEvent.created(instanceId, order));
+    }
+
+    // Ceo chunk masovnog unosa ide jednom porukom (JSON niz događaja)
+    public void sendOrdersCreated(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<OrderChangedEvent> events = orders.stream()
+                .map(order -> OrderChangedEvent.created(instanceId, order))
+                .toList();
+        try {
+            rabbitTemplate.send(RabbitConfig.ORDERS_EVENTS_EXCHANGE, "",
+                    jsonConverter.toMessage(events, new MessageProperties()));
+            log.debug("📨 Published batched OrderChanged (CREATED) event for {} orders", events.size());
+        } catch (Exception e) {
+            log.error("💥 Failed to publish batched OrderChanged event for {} orders: {}", events.size(), e.getMessage());
+        }
+    }
+
+    public void sendOrderUpdated(Long previousUserId, BigDecimal previousPrice, Order order) {
+        send(OrderChangedEvent.updated(instanceId, previousUserId, previousPrice, order));
+    }
+
+    public void sendOrderDeleted(Order order) {
+        send(OrderChangedEvent.deleted(instanceId, order));
+    }
+
+    // Događaj ove instance je već primenjen lokalno, pre slanja
+    public boolean isOwn(OrderChangedEvent event) {
+        return instanceId.equals(event.origin());
+    }
+
+    private void send(OrderChangedEvent event) {
+        try {
+            rabbitTemplate.send(RabbitConfig.ORDERS_EVENTS_EXCHANGE, "",
+                    jsonConverter.toMessage(event, new MessageProperties()));
+            log.debug("📨 Published OrderChanged ({}) event for order ID {}", event.type(), event.orderId());
+        } catch (Exception e) {
+            log.error("💥 Failed to publish OrderChanged event for order ID {}: {}", event.orderId(), e.getMessage());
+        }
+    }
+}
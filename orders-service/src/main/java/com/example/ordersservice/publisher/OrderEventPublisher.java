@@ -1,28 +1,56 @@
 package com.example.ordersservice.publisher;
 
+import com.example.ordersservice.event.OrderCreatedEvent;
+import com.example.ordersservice.model.Order;
+import com.example.ordersservice.model.OutboxEvent;
+import com.example.ordersservice.repository.OutboxEventRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
+/**
+ * Događaji se ne šalju direktno u RabbitMQ, već se upisuju u outbox tabelu
+ * u istoj transakciji u kojoj se čuva Order. Slanje radi {@link OutboxRelay}.
+ */
 @Component
 public class OrderEventPublisher {
 
+    // Novo ime: osnovni, non-durable "orderCreatedQueue" bez DLX argumenata ne može da se redeklariše kao durable
+    public static final String ORDER_CREATED_QUEUE = "orderCreatedQueue.v2";
+    public static final String LEGACY_ORDER_CREATED_QUEUE = "orderCreatedQueue";
+
     private static final Logger log = LoggerFactory.getLogger(OrderEventPublisher.class);
-    private final RabbitTemplate rabbitTemplate;
 
-    public OrderEventPublisher(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    private final OutboxEventRepository outboxRepository;
+    private final MessageConverter messageConverter;
+
+    public OrderEventPublisher(OutboxEventRepository outboxRepository, MessageConverter messageConverter) {
+        this.outboxRepository = outboxRepository;
+        this.messageConverter = messageConverter;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishOrderCreated(Order order) {
+        store(List.of(OrderCreatedEvent.from(order)));
+        log.debug("🗃️ OrderCreated event for Order ID {} stored in outbox", order.getId());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishOrdersCreated(List<Order> orders) {
+        store(orders.stream().map(OrderCreatedEvent::from).toList());
+        log.debug("🗃️ Batched OrderCreated event for {} orders stored in outbox", orders.size());
     }
 
-    public void sendOrderCreatedEvent(String message) {
-        log.info("📨 Sending event to RabbitMQ queue 'orderCreatedQueue'...");
-        log.info("📦 Message content → {}", message);
-        try {
-            rabbitTemplate.convertAndSend("orderCreatedQueue", message);
-            log.info("✅ Message successfully sent to RabbitMQ 🎯");
-        } catch (Exception e) {
-            log.error("💥 Failed to send message to RabbitMQ: {}", e.getMessage());
-        }
+    private void store(List<OrderCreatedEvent> events) {
+        Message message = messageConverter.toMessage(events, new MessageProperties());
+        outboxRepository.save(OutboxEvent.of(ORDER_CREATED_QUEUE,
+                message.getMessageProperties().getContentType(), message.getBody()));
     }
-}
\ No newline at end of file
+}
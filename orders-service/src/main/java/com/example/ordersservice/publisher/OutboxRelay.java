@@ -0,0 +1,134 @@
+package com.example.ordersservice.publisher;
+
+import com.example.ordersservice.model.OutboxEvent;
+import com.example.ordersservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prazni outbox tabelu u batch-evima: šalje poruke na jednom kanalu, čeka publisher confirm
+ * za ceo batch i tek onda briše poslate redove (at-least-once isporuka).
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final Duration failureBackoff;
+
+    private final Counter relayedCounter;
+    private final Counter failedBatchesCounter;
+    private final Timer publishSuccessTimer;
+    private final Timer publishFailureTimer;
+    private final AtomicLong lastRelayedId = new AtomicLong();
+    private volatile long nextAttemptAt;
+
+    public OutboxRelay(OutboxEventRepository outboxRepository, RabbitTemplate rabbitTemplate, MeterRegistry meterRegistry,
+                       @Value("${orders.outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${orders.outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${orders.outbox.relay.confirm-timeout:5s}") Duration confirmTimeout,
+                       @Value("${orders.outbox.relay.failure-backoff:5s}") Duration failureBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+        this.failureBackoff = failureBackoff;
+
+        this.relayedCounter = Counter.builder("orders.outbox.relayed")
+                .description("Outbox events confirmed by the broker")
+                .register(meterRegistry);
+        this.failedBatchesCounter = Counter.builder("orders.outbox.failed.batches")
+                .description("Outbox batches that were not confirmed and will be retried")
+                .register(meterRegistry);
+        this.publishSuccessTimer = publishTimer(meterRegistry, "success");
+        this.publishFailureTimer = publishTimer(meterRegistry, "failure");
+        Gauge.builder("orders.outbox.last.relayed.id", lastRelayedId, AtomicLong::get)
+                .description("ID of the last outbox event confirmed by the broker")
+                .register(meterRegistry);
+        Gauge.builder("orders.outbox.pending", outboxRepository, OutboxEventRepository::count)
+                .description("Outbox events waiting to be relayed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.outbox.relay.interval:200ms}")
+    public void relay() {
+        if (!enabled || System.currentTimeMillis() < nextAttemptAt) {
+            return;
+        }
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    int relayBatch() {
+        List<OutboxEvent> batch = outboxRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (OutboxEvent event : batch) {
+                    operations.send("", event.getDestination(), toMessage(event));
+                }
+                operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+                return null;
+            });
+        } catch (AmqpException e) {
+            publishFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            failedBatchesCounter.increment();
+            nextAttemptAt = System.currentTimeMillis() + failureBackoff.toMillis();
+            log.warn("🐇 Outbox relay could not publish {} events (retry in {}): {}",
+                    batch.size(), failureBackoff, e.getMessage());
+            return 0;
+        }
+
+        publishSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        outboxRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+        lastRelayedId.set(batch.get(batch.size() - 1).getId());
+        relayedCounter.increment(batch.size());
+        log.debug("📨 Outbox relay published {} events (last ID {})", batch.size(), lastRelayedId.get());
+        return batch.size();
+    }
+
+    private static Timer publishTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("orders.outbox.publish")
+                .description("Time to publish one outbox batch and receive broker confirms")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload())
+                .setContentType(event.getContentType())
+                .setMessageId(String.valueOf(event.getId()))
+                .setTimestamp(Date.from(event.getCreatedAt()))
+                .build();
+    }
+}
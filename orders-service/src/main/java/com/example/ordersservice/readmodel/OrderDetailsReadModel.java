@@ -0,0 +1,234 @@
+package com.example.ordersservice.readmodel;
+
+import com.example.ordersservice.DTO.OrderDTO;
+import com.example.ordersservice.DTO.UserDTO;
+import com.example.ordersservice.event.OrderChangedEvent;
+import com.example.ordersservice.event.UserChangedEvent;
+import com.example.ordersservice.feign.UserClient;
+import com.example.ordersservice.model.Order;
+import com.example.ordersservice.model.OrderDetails;
+import com.example.ordersservice.repository.OrderRepository;
+import com.example.ordersservice.stats.UserOrderAggregates;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Lokalni model za čitanje /orders/{id}/details: narudžbine i korisnici u memoriji, bez upita u bazu i
+ * poziva ka users-service. Narudžbina se čuva kao kompaktan red (userId, internovan naziv, cena u centima),
+ * a korisnik jednom po ID-ju, pa se OrderDetails sklapa pri čitanju. Oba dela su ograničena po broju unosa
+ * (Caffeine, kao UserCache). Korisnici nemaju TTL: osvežavaju se periodično i posle ponovnog povezivanja sa
+ * RabbitMQ-om, a ako users-service tada nije dostupan, ostaju poslednje poznate vrednosti.
+ * Redove pišu upisi narudžbina i OrderChanged događaji drugih instanci; pri startu se učitavaju najnovije
+ * narudžbine iz tabele, a korisnici jednim batch pozivom kada je servis spreman. Udaljeno čitanje vraća
+ * izbačen red samo ako ga u međuvremenu nije promenio ili obrisao upis. Bez reda ili korisnika čitanje ide
+ * starim putem.
+ */
+@Component
+public class OrderDetailsReadModel implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderDetailsReadModel.class);
+    private static final int USER_LOOKUP_BATCH_SIZE = 1000;
+
+    private final OrderRepository orderRepository;
+    private final UserClient userClient;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long maxOrders;
+    private final Cache<Long, Row> orders;
+    private final Cache<Long, UserDTO> users;
+    // Narudžbine upisane ili obrisane skoro: udaljeno čitanje počelo pre upisa ne sme da vrati staro stanje
+    private final Cache<Long, Boolean> recentWrites;
+    private final Counter hits;
+    private final Counter misses;
+
+    private record Row(long userId, String productName, long priceCents) {
+
+        // Nazivi proizvoda se ponavljaju kroz narudžbine, pa se drži jedna instanca po nazivu
+        static Row of(Long userId, String productName, BigDecimal price) {
+            return new Row(userId, productName == null ? null : productName.intern(), UserOrderAggregates.toCents(price));
+        }
+    }
+
+    public OrderDetailsReadModel(OrderRepository orderRepository, UserClient userClient,
+                                 PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                 @Value("${orders.details.read-model.max-orders:1000000}") long maxOrders,
+                                 @Value("${orders.details.read-model.max-users:100000}") long maxUsers,
+                                 @Value("${orders.details.read-model.write-guard:1m}") Duration writeGuard) {
+        this.orderRepository = orderRepository;
+        this.userClient = userClient;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxOrders = maxOrders;
+        this.orders = Caffeine.newBuilder().maximumSize(maxOrders).build();
+        this.users = Caffeine.newBuilder().maximumSize(maxUsers).build();
+        this.recentWrites = Caffeine.newBuilder().expireAfterWrite(writeGuard).build();
+        meterRegistry.gauge("orders.details.readmodel.orders", List.of(), orders, Cache::estimatedSize);
+        meterRegistry.gauge("orders.details.readmodel.users", List.of(), users, Cache::estimatedSize);
+        this.hits = meterRegistry.counter("orders.details.readmodel.reads", "result", "hit");
+        this.misses = meterRegistry.counter("orders.details.readmodel.reads", "result", "miss");
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        orders.invalidateAll();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<OrderDTO> newest = orderRepository.streamNewestFirst()) {
+                newest.limit(maxOrders).forEach(order ->
+                        orders.put(order.id(), Row.of(order.userId(), order.productName(), order.price())));
+            }
+        });
+        log.info("🗂️ Order details read model loaded {} orders", orders.estimatedSize());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadUsers() {
+        Set<Long> missing = new HashSet<>();
+        orders.asMap().values().forEach(row -> missing.add(row.userId()));
+        missing.removeAll(users.asMap().keySet());
+        if (missing.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(missing);
+        try {
+            for (int from = 0; from < ids.size(); from += USER_LOOKUP_BATCH_SIZE) {
+                userClient.getUsersByIds(ids.subList(from, Math.min(from + USER_LOOKUP_BATCH_SIZE, ids.size())))
+                        .forEach(this::userLoaded);
+            }
+            log.info("🗂️ Order details read model loaded {} users", users.estimatedSize());
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Users-service unavailable while loading read model users — filling lazily: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ponovo učitava sve korisnike iz modela (UserChanged događaj je mogao biti propušten). Vrednost se menja
+     * samo ako je nije u međuvremenu promenio događaj; korisnik kojeg users-service više ne vraća se uklanja.
+     * Kada users-service nije dostupan, postojeći korisnici ostaju.
+     */
+    @Scheduled(initialDelayString = "${orders.details.read-model.user-refresh-interval:10m}",
+            fixedDelayString = "${orders.details.read-model.user-refresh-interval:10m}")
+    public void refreshUsers() {
+        Map<Long, UserDTO> known = new HashMap<>(users.asMap());
+        if (known.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(known.keySet());
+        int updated = 0;
+        int removed = 0;
+        try {
+            for (int from = 0; from < ids.size(); from += USER_LOOKUP_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(from + USER_LOOKUP_BATCH_SIZE, ids.size()));
+                Map<Long, UserDTO> fetched = new HashMap<>();
+                userClient.getUsersByIds(batch).forEach(user -> fetched.put(user.id(), user));
+                for (Long id : batch) {
+                    UserDTO user = fetched.get(id);
+                    if (user == null) {
+                        removed += users.asMap().remove(id, known.get(id)) ? 1 : 0;
+                    } else if (!user.equals(known.get(id))) {
+                        updated += users.asMap().replace(id, known.get(id), user) ? 1 : 0;
+                    }
+                }
+            }
+            log.info("🔄 Read model users refreshed: {} checked, {} updated, {} removed", ids.size(), updated, removed);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Users-service unavailable while refreshing read model users — keeping last known values: {}",
+                    e.getMessage());
+        }
+    }
+
+    public Optional<OrderDetails> find(Long orderId) {
+        Row row = orders.getIfPresent(orderId);
+        UserDTO user = row == null ? null : users.getIfPresent(row.userId());
+        if (user == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(new OrderDetails(toOrder(orderId, row), user));
+    }
+
+    public Optional<Order> findOrder(Long orderId) {
+        Row row = orders.getIfPresent(orderId);
+        return row == null ? Optional.empty() : Optional.of(toOrder(orderId, row));
+    }
+
+    // Upis (kreiranje, bulk, izmena) posle commit-a: novo stanje zamenjuje red
+    public void orderSaved(Order order, UserDTO user) {
+        written(order.getId(), Row.of(order.getUserId(), order.getProductName(), order.getPrice()));
+        if (user != null && order.getUserId().equals(user.id())) {
+            userLoaded(user);
+        }
+    }
+
+    public void orderDeleted(Long orderId) {
+        written(orderId, null);
+    }
+
+    // Udaljeno čitanje (baza + users-service): red se dodaje samo ako ga nema i ako ga upis nije skoro menjao
+    public void orderLoaded(Order order, UserDTO user) {
+        Row loaded = Row.of(order.getUserId(), order.getProductName(), order.getPrice());
+        orders.asMap().compute(order.getId(), (id, current) ->
+                current != null || recentWrites.getIfPresent(id) != null ? current : loaded);
+        if (user != null && order.getUserId().equals(user.id())) {
+            userLoaded(user);
+        }
+    }
+
+    // Izmena sa druge instance; korisnik se dopunjava pri prvom čitanju
+    public void orderChanged(OrderChangedEvent event) {
+        if (event.type() == OrderChangedEvent.Type.DELETED) {
+            orderDeleted(event.orderId());
+        } else {
+            written(event.orderId(), Row.of(event.userId(), event.productName(), event.price()));
+        }
+    }
+
+    public void userLoaded(UserDTO user) {
+        if (user != null && user.id() != null) {
+            users.put(user.id(), user);
+        }
+    }
+
+    // Izmena se primenjuje samo na korisnika koji je već u modelu; bez imena (DELETED, stariji događaj) se briše
+    public void userChanged(UserChangedEvent event) {
+        if (event.type() == UserChangedEvent.Type.UPDATED && event.name() != null) {
+            users.asMap().computeIfPresent(event.userId(), (id, current) -> new UserDTO(id, event.name(), event.email()));
+        } else {
+            users.invalidate(event.userId());
+        }
+    }
+
+    // Pod zaključavanjem ključa, da se ne preplete sa orderLoaded za istu narudžbinu
+    private void written(Long orderId, Row row) {
+        orders.asMap().compute(orderId, (id, current) -> {
+            recentWrites.put(id, Boolean.TRUE);
+            return row;
+        });
+    }
+
+    private static Order toOrder(Long orderId, Row row) {
+        return new Order(orderId, row.userId(), row.productName(), BigDecimal.valueOf(row.priceCents(), 2));
+    }
+}
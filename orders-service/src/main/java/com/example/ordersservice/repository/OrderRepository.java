@@ -1,7 +1,47 @@
 package com.example.ordersservice.repository;
 
+import com.example.ordersservice.DTO.OrderDTO;
 import com.example.ordersservice.model.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    List<Order> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Keyset stranica porudžbina jednog korisnika preko idx_orders_user_id, bez entiteta u persistence context-u;
+    // "order by userId, id" prati redosled indeksa pa H2 čita samo traženih N redova umesto svih porudžbina korisnika
+    @Query("select new com.example.ordersservice.DTO.OrderDTO(o.id, o.userId, o.productName, o.price) from Order o "
+            + "where o.userId = :userId and o.id > :afterId order by o.userId, o.id")
+    List<OrderDTO> findPageByUserId(Long userId, Long afterId, Limit limit);
+
+    // Početno stanje za UserOrderAggregates: jedan red po korisniku, sabiranje radi baza
+    @Query("select o.userId as userId, count(o) as orderCount, sum(o.price) as total from Order o group by o.userId")
+    List<UserTotals> sumByUser();
+
+    // DTO projekcija — redovi se ne čuvaju u persistence context-u, pa memorija ostaje ravna
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.ordersservice.DTO.OrderDTO(o.id, o.userId, o.productName, o.price) from Order o order by o.id")
+    Stream<OrderDTO> streamAll();
+
+    // Početno stanje za OrderDetailsReadModel: najnovije porudžbine prve, model čuva ograničen broj
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.ordersservice.DTO.OrderDTO(o.id, o.userId, o.productName, o.price) from Order o order by o.id desc")
+    Stream<OrderDTO> streamNewestFirst();
+
+    interface UserTotals {
+        Long getUserId();
+
+        long getOrderCount();
+
+        BigDecimal getTotal();
+    }
 }
@@ -0,0 +1,114 @@
+package com.example.ordersservice.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptivni limit istovremenih poziva (gradient algoritam, po uzoru na Netflix Gradient2):
+ * <ul>
+ *     <li>dugoročni RTT (spori EWMA) predstavlja "zdravo" kašnjenje, kratkoročni (brzi EWMA) trenutno;</li>
+ *     <li>gradient = dugoročni / kratkoročni, ograničen na [0.5, 1]: kada users-service uspori, limit se smanjuje
+ *     srazmerno, a kada je brz limit raste za sqrt(limit) (dozvoljeni red);</li>
+ *     <li>odbačen poziv (timeout, 5xx, I/O greška) množi limit sa backoff-ratio (multiplicative decrease).</li>
+ * </ul>
+ * Limit ne raste dok je iskorišćeno manje od pola, da ne bi "pobegao" pri malom saobraćaju.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public record Settings(int initialLimit, int minLimit, int maxLimit, double smoothing,
+                           double backoffRatio, double rttTolerance, int longWindow) {
+    }
+
+    public record Snapshot(int limit, int inFlight, double shortRttMillis, double longRttMillis,
+                           long accepted, long rejected, long dropped) {
+    }
+
+    private static final double SHORT_WINDOW_ALPHA = 0.5;
+
+    private final Settings settings;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(Settings settings) {
+        this.settings = settings;
+        this.limit = settings.initialLimit();
+        this.estimatedLimit = settings.initialLimit();
+    }
+
+    /**
+     * @return false ako je limit dostignut (poziv ne treba slati)
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Završava poziv dobijen sa {@link #tryAcquire()}.
+     *
+     * @param rttNanos  trajanje poziva
+     * @param isDropped poziv je završen greškom koja ukazuje na preopterećenje
+     */
+    public void release(long rttNanos, boolean isDropped) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (isDropped) {
+            dropped.incrementAndGet();
+        }
+        onSample(rttNanos, inFlightBefore, isDropped);
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightBefore, boolean isDropped) {
+        if (isDropped) {
+            estimatedLimit = Math.max(settings.minLimit(), estimatedLimit * settings.backoffRatio());
+            limit = (int) estimatedLimit;
+            return;
+        }
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+        } else {
+            shortRttNanos += (rttNanos - shortRttNanos) * SHORT_WINDOW_ALPHA;
+            longRttNanos += (rttNanos - longRttNanos) * (2.0 / (settings.longWindow() + 1));
+        }
+        // Kada se users-service trajno promeni (npr. drugačiji upit), dugoročni RTT sustiže kratkoročni
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlightBefore * 2 < estimatedLimit) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, settings.rttTolerance() * longRttNanos / shortRttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - settings.smoothing()) + newLimit * settings.smoothing();
+        estimatedLimit = Math.max(settings.minLimit(), Math.min(settings.maxLimit(), newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(limit, inFlight.get(), shortRttNanos / 1e6, longRttNanos / 1e6,
+                accepted.get(), rejected.get(), dropped.get());
+    }
+}
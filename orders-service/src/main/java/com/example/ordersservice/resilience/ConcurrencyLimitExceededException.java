@@ -0,0 +1,12 @@
+package com.example.ordersservice.resilience;
+
+/**
+ * Poziv je odbijen lokalno (adaptivni limit ka users-service ili bulkhead je pun) – users-service nije ni pozvan.
+ * Nasleđuje IllegalStateException da bi kontroleri vratili 503, a Retry ga ne ponavlja.
+ */
+public class ConcurrencyLimitExceededException extends IllegalStateException {
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
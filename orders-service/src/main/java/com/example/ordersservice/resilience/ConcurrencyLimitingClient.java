@@ -0,0 +1,45 @@
+package com.example.ordersservice.resilience;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+
+/**
+ * Feign {@link Client} omotač: svaki HTTP poziv ka users-service prolazi kroz adaptivni limit
+ * i broji se u retry budžetu. Ostali Feign klijenti (ako ih bude) prolaze direktno.
+ */
+class ConcurrencyLimitingClient implements Client {
+
+    private final Client delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final RetryBudget retryBudget;
+
+    ConcurrencyLimitingClient(Client delegate, AdaptiveConcurrencyLimiter limiter, RetryBudget retryBudget) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.retryBudget = retryBudget;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (!UsersServiceResilienceConfig.USERS_SERVICE.equals(request.requestTemplate().feignTarget().name())) {
+            return delegate.execute(request, options);
+        }
+        retryBudget.recordRequest();
+        if (!limiter.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException(
+                    "Users-service concurrency limit reached (" + limiter.getLimit() + " in flight)");
+        }
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            Response response = delegate.execute(request, options);
+            dropped = UsersServiceResilienceConfig.isOverloadStatus(response.status());
+            return response;
+        } finally {
+            limiter.release(System.nanoTime() - start, dropped);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.ordersservice.resilience;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hedging za idempotentne GET pozive ka users-service (po "The Tail at Scale"): ako prvi poziv ne odgovori
+ * za p95 (podesivo) uobičajenog trajanja, isti zahtev ide i na drugu instancu; prvi uspešan odgovor (bez 5xx)
+ * pobeđuje, a drugi poziv se prekida (interrupt virtuelne niti zatvara socket) i njegov odgovor zatvara.
+ * <p>
+ * Stoji ispod load balancer-a – dobija zahtev sa već izabranom instancom, pa drugu bira iz discovery-ja.
+ * Broj hedge poziva ograničen je budžetom ({@link RetryBudget}) da ne bi udvostručio saobraćaj kada su
+ * sve instance spore.
+ */
+public class HedgingClient implements Client, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HedgingClient.class);
+
+    public record Settings(double percentile, Duration initialDelay, Duration minDelay, int minSamples) {
+    }
+
+    public record Snapshot(double delayMillis, long hedges, long hedgeWins, RetryBudget.Snapshot budget) {
+    }
+
+    private static final int SAMPLES = 1024;
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Client delegate;
+    private final DiscoveryClient discoveryClient;
+    private final Settings settings;
+    private final RetryBudget budget;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final long[] samples = new long[SAMPLES];
+    private final AtomicLong sampleCount = new AtomicLong();
+    private volatile long delayNanos;
+    private volatile long nextRefreshAt;
+
+    private final Counter hedges;
+    private final Counter primaryWins;
+    private final Counter hedgeWins;
+
+    public HedgingClient(Client delegate, DiscoveryClient discoveryClient, Settings settings,
+                         RetryBudget budget, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.discoveryClient = discoveryClient;
+        this.settings = settings;
+        this.budget = budget;
+        this.delayNanos = settings.initialDelay().toNanos();
+
+        this.hedges = Counter.builder("users.hedging.hedges")
+                .description("Drugi (hedge) pozivi poslati na drugu instancu users-service-a")
+                .register(meterRegistry);
+        this.primaryWins = Counter.builder("users.hedging.wins").tag("winner", "primary").register(meterRegistry);
+        this.hedgeWins = Counter.builder("users.hedging.wins").tag("winner", "hedge").register(meterRegistry);
+        FunctionCounter.builder("users.hedging.budget.exhausted", budget, b -> b.snapshot().exhausted())
+                .description("Hedge pozivi preskočeni jer je budžet potrošen")
+                .register(meterRegistry);
+        Gauge.builder("users.hedging.delay", this, c -> c.delayNanos / 1e6)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET
+                || !UsersServiceResilienceConfig.USERS_SERVICE.equals(request.requestTemplate().feignTarget().name())) {
+            return delegate.execute(request, options);
+        }
+        budget.recordRequest();
+        CompletionService<Response> race = new ExecutorCompletionService<>(executor);
+        Attempt primary = new Attempt(race, request, options);
+        try {
+            Future<Response> first = race.poll(currentDelayNanos(), TimeUnit.NANOSECONDS);
+            if (first != null) {
+                return getResponse(first);
+            }
+            Request hedgeRequest = onOtherInstance(request);
+            if (hedgeRequest == null || !budget.canRetry()) {
+                return getResponse(primary.future);
+            }
+            budget.recordRetry();
+            hedges.increment();
+            Attempt hedge = new Attempt(race, hedgeRequest, options);
+            return firstSuccessful(race, primary, hedge);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.abandon();
+            throw new InterruptedIOException("Interrupted while waiting for users-service");
+        }
+    }
+
+    /**
+     * Pobeđuje prvi odgovor bez greške servera; 5xx ili izuzetak znače da se čeka drugi poziv. Ako ni drugi
+     * nije bolji, vraća se prvi 5xx odgovor (ili drugi rezultat kada je prvi pao).
+     */
+    private Response firstSuccessful(CompletionService<Response> race, Attempt primary, Attempt hedge)
+            throws InterruptedException, IOException {
+        Future<Response> done = race.take();
+        Attempt first = done == primary.future ? primary : hedge;
+        Attempt second = first == primary ? hedge : primary;
+        Response response;
+        try {
+            response = getResponse(first.future);
+        } catch (IOException | RuntimeException e) {
+            // Prvi je pao – ostaje samo drugi
+            return getResponse(race.take());
+        }
+        if (response.status() < 500) {
+            second.abandon();
+            (first == primary ? primaryWins : hedgeWins).increment();
+            return response;
+        }
+        try {
+            Response other = getResponse(race.take());
+            if (other.status() < 500) {
+                response.close();
+                (second == primary ? primaryWins : hedgeWins).increment();
+                return other;
+            }
+            other.close();
+        } catch (IOException | RuntimeException e) {
+            log.debug("⚠️ Both hedged calls failed, returning the first {} response", response.status());
+        }
+        return response;
+    }
+
+    private Response timed(Request request, Request.Options options) throws IOException {
+        long start = System.nanoTime();
+        Response response = delegate.execute(request, options);
+        if (response.status() < 500) {
+            samples[(int) (sampleCount.getAndIncrement() % SAMPLES)] = System.nanoTime() - start;
+        }
+        return response;
+    }
+
+    /**
+     * Isti zahtev usmeren na nasumičnu drugu instancu; null ako druge instance nema.
+     */
+    private Request onOtherInstance(Request request) {
+        URI uri = URI.create(request.url());
+        List<ServiceInstance> others = discoveryClient.getInstances(UsersServiceResilienceConfig.USERS_SERVICE).stream()
+                .filter(i -> !(i.getHost().equals(uri.getHost()) && i.getPort() == uri.getPort()))
+                .toList();
+        if (others.isEmpty()) {
+            return null;
+        }
+        ServiceInstance other = others.get(ThreadLocalRandom.current().nextInt(others.size()));
+        String url = other.getUri() + uri.getRawPath() + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+        return Request.create(request.httpMethod(), url, request.headers(), request.body(), request.charset(),
+                request.requestTemplate());
+    }
+
+    /**
+     * Percentil poslednjih {@value #SAMPLES} uspešnih poziva, osvežen najviše jednom u sekundi.
+     */
+    long currentDelayNanos() {
+        long now = System.nanoTime();
+        if (now - nextRefreshAt >= 0) {
+            nextRefreshAt = now + REFRESH_NANOS;
+            int count = (int) Math.min(sampleCount.get(), SAMPLES);
+            if (count >= settings.minSamples()) {
+                long[] sorted = Arrays.copyOf(samples, count);
+                Arrays.sort(sorted);
+                long percentile = sorted[(int) Math.min(count - 1, Math.ceil(settings.percentile() * count) - 1)];
+                delayNanos = Math.max(settings.minDelay().toNanos(), percentile);
+            }
+        }
+        return delayNanos;
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(delayNanos / 1e6, (long) hedges.count(), (long) hedgeWins.count(), budget.snapshot());
+    }
+
+    private static Response getResponse(Future<Response> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new UncheckedIOException(new IOException(e.getCause()));
+        }
+    }
+
+    /**
+     * Jedan poziv u trci. Odgovor koji više niko neće pročitati mora da se zatvori da bi HC5 vratio konekciju
+     * u pool – i kada stigne tek posle prekida (cancel ne zaustavlja poziv koji je već pri kraju).
+     */
+    private final class Attempt {
+        private final Request request;
+        private final Request.Options options;
+        private final Future<Response> future;
+        private boolean abandoned;
+        private Response response;
+
+        Attempt(CompletionService<Response> race, Request request, Request.Options options) {
+            this.request = request;
+            this.options = options;
+            this.future = race.submit(this::call);
+        }
+
+        private Response call() throws IOException {
+            Response result = timed(request, options);
+            synchronized (this) {
+                if (!abandoned) {
+                    response = result;
+                    return result;
+                }
+            }
+            result.close();
+            return result;
+        }
+
+        void abandon() {
+            future.cancel(true);
+            Response late;
+            synchronized (this) {
+                abandoned = true;
+                late = response;
+            }
+            if (late != null) {
+                late.close();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        log.debug("🧹 Hedging executor stopped");
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ordersservice.resilience;
+
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.cloud.openfeign.loadbalancer.FeignBlockingLoadBalancerClient;
+import org.springframework.cloud.openfeign.loadbalancer.LoadBalancerFeignRequestTransformer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Uključuje hedging ({@code users.hedging.enabled=true}): zamenjuje podrazumevani Feign load-balancer klijent
+ * istim {@link FeignBlockingLoadBalancerClient}-om, ali sa {@link HedgingClient}-om kao transportom.
+ * Ispod hedging-a je isti transport koji bi Spring Cloud inače izabrao (HC5 pool, HTTP/2 ili HttpURLConnection).
+ */
+@Configuration
+@ConditionalOnProperty(name = "users.hedging.enabled", havingValue = "true")
+public class HedgingConfig {
+
+    @Bean(destroyMethod = "close")
+    public HedgingClient hedgingClient(
+            DiscoveryClient discoveryClient,
+            ObjectProvider<CloseableHttpClient> httpClient5,
+            ObjectProvider<HttpClient> http2Client,
+            MeterRegistry meterRegistry,
+            @Value("${users.hedging.percentile:0.95}") double percentile,
+            @Value("${users.hedging.initial-delay:50ms}") Duration initialDelay,
+            @Value("${users.hedging.min-delay:5ms}") Duration minDelay,
+            @Value("${users.hedging.min-samples:50}") int minSamples,
+            @Value("${users.hedging.budget.ratio:0.05}") double budgetRatio,
+            @Value("${users.hedging.budget.min-per-second:1}") int budgetMinPerSecond) {
+        return new HedgingClient(transport(httpClient5, http2Client), discoveryClient,
+                new HedgingClient.Settings(percentile, initialDelay, minDelay, minSamples),
+                new RetryBudget(budgetRatio, budgetMinPerSecond, 10), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public Client feignClient(HedgingClient hedgingClient, LoadBalancerClient loadBalancerClient,
+                              LoadBalancerClientFactory loadBalancerClientFactory,
+                              List<LoadBalancerFeignRequestTransformer> transformers) {
+        return new FeignBlockingLoadBalancerClient(hedgingClient, loadBalancerClient, loadBalancerClientFactory, transformers);
+    }
+
+    private static Client transport(ObjectProvider<CloseableHttpClient> httpClient5, ObjectProvider<HttpClient> http2Client) {
+        CloseableHttpClient pooled = httpClient5.getIfUnique();
+        if (pooled != null) {
+            return new ApacheHttp5Client(pooled);
+        }
+        HttpClient http2 = http2Client.getIfUnique();
+        return http2 != null ? new Http2Client(http2) : new Client.Default(null, null);
+    }
+}
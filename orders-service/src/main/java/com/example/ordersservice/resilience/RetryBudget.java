@@ -0,0 +1,96 @@
+package com.example.ordersservice.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Budžet za ponovne pokušaje (po uzoru na Finagle RetryBudget): u kliznom prozoru dozvoljeno je
+ * {@code minRetriesPerSecond * prozor + ratio * originalniZahtevi} retry-a. Kada users-service počne da pada,
+ * retry-i više ne mogu da umnože saobraćaj (3x max-attempts), već najviše za {@code ratio}.
+ * <p>
+ * Prozor je podeljen na sekundne bucket-e u prstenu; stari bucket se resetuje pri prvom upisu u novoj sekundi.
+ */
+public class RetryBudget {
+
+    public record Snapshot(long requests, long retries, long exhausted, long allowedRetries) {
+    }
+
+    private static final long BUCKET_NANOS = 1_000_000_000L;
+
+    private final double ratio;
+    private final long minRetries;
+    private final Bucket[] ring;
+    private final LongSupplier nanoClock;
+    private final AtomicLong exhausted = new AtomicLong();
+
+    public RetryBudget(double ratio, int minRetriesPerSecond, int windowSeconds) {
+        this(ratio, minRetriesPerSecond, windowSeconds, System::nanoTime);
+    }
+
+    RetryBudget(double ratio, int minRetriesPerSecond, int windowSeconds, LongSupplier nanoClock) {
+        this.ratio = ratio;
+        this.minRetries = (long) minRetriesPerSecond * windowSeconds;
+        this.ring = new Bucket[windowSeconds];
+        for (int i = 0; i < windowSeconds; i++) {
+            ring[i] = new Bucket();
+        }
+        this.nanoClock = nanoClock;
+    }
+
+    /** Svaki pokušaj poziva (i originalni i ponovljeni). */
+    public void recordRequest() {
+        current().requests.incrementAndGet();
+    }
+
+    /** Pokušaj koji je zaista ponovljen (Retry onRetry događaj). */
+    public void recordRetry() {
+        current().retries.incrementAndGet();
+    }
+
+    /**
+     * @return da li u budžetu ima mesta za još jedan retry; ne troši budžet (to radi {@link #recordRetry()})
+     */
+    public boolean canRetry() {
+        Snapshot s = snapshot();
+        if (s.retries() < s.allowedRetries()) {
+            return true;
+        }
+        exhausted.incrementAndGet();
+        return false;
+    }
+
+    public Snapshot snapshot() {
+        long now = nanoClock.getAsLong() / BUCKET_NANOS;
+        long requests = 0;
+        long retries = 0;
+        for (Bucket bucket : ring) {
+            if (bucket.index > now - ring.length) {
+                requests += bucket.requests.get();
+                retries += bucket.retries.get();
+            }
+        }
+        long originals = Math.max(0, requests - retries);
+        return new Snapshot(requests, retries, exhausted.get(), minRetries + (long) (ratio * originals));
+    }
+
+    private Bucket current() {
+        long index = nanoClock.getAsLong() / BUCKET_NANOS;
+        Bucket bucket = ring[(int) Math.floorMod(index, (long) ring.length)];
+        if (bucket.index != index) {
+            synchronized (bucket) {
+                if (bucket.index != index) {
+                    bucket.requests.set(0);
+                    bucket.retries.set(0);
+                    bucket.index = index;
+                }
+            }
+        }
+        return bucket;
+    }
+
+    private static final class Bucket {
+        volatile long index = Long.MIN_VALUE;
+        final AtomicLong requests = new AtomicLong();
+        final AtomicLong retries = new AtomicLong();
+    }
+}
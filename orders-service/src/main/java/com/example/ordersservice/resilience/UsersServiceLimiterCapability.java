@@ -0,0 +1,24 @@
+package com.example.ordersservice.resilience;
+
+import feign.Capability;
+import feign.Client;
+
+/**
+ * Ubacuje {@link ConcurrencyLimitingClient} u Feign klijente. Mora biti javna klasa jer Feign poziva
+ * {@code enrich} refleksijom.
+ */
+public class UsersServiceLimiterCapability implements Capability {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final RetryBudget retryBudget;
+
+    public UsersServiceLimiterCapability(AdaptiveConcurrencyLimiter limiter, RetryBudget retryBudget) {
+        this.limiter = limiter;
+        this.retryBudget = retryBudget;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return new ConcurrencyLimitingClient(client, limiter, retryBudget);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.ordersservice.resilience;
+
+import feign.Capability;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.common.retry.configuration.RetryConfigCustomizer;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Zaštita zavisnosti ka users-service: adaptivni limit istovremenih poziva (Feign i WebClient),
+ * retry budžet za "userService" Retry instancu i metrike. Bulkhead-ovi su deklarisani u properties-ima.
+ */
+@Configuration
+public class UsersServiceResilienceConfig {
+
+    public static final String USERS_SERVICE = "users-service";
+    static final String RETRY_NAME = "userService";
+
+    @Bean
+    public AdaptiveConcurrencyLimiter usersServiceLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${users.limiter.initial-limit:20}") int initialLimit,
+            @Value("${users.limiter.min-limit:4}") int minLimit,
+            @Value("${users.limiter.max-limit:200}") int maxLimit,
+            @Value("${users.limiter.smoothing:0.2}") double smoothing,
+            @Value("${users.limiter.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${users.limiter.rtt-tolerance:1.5}") double rttTolerance,
+            @Value("${users.limiter.long-window:600}") int longWindow) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencyLimiter.Settings(
+                initialLimit, minLimit, maxLimit, smoothing, backoffRatio, rttTolerance, longWindow));
+        Gauge.builder("users.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Trenutni adaptivni limit istovremenih poziva ka users-service")
+                .register(meterRegistry);
+        Gauge.builder("users.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+        FunctionCounter.builder("users.limiter.rejected", limiter, l -> l.snapshot().rejected())
+                .description("Pozivi odbijeni lokalno jer je limit dostignut")
+                .register(meterRegistry);
+        FunctionCounter.builder("users.limiter.dropped", limiter, l -> l.snapshot().dropped())
+                .description("Pozivi završeni greškom preopterećenja (timeout, 5xx, 429)")
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    public RetryBudget usersServiceRetryBudget(
+            MeterRegistry meterRegistry,
+            @Value("${users.retry-budget.ratio:0.1}") double ratio,
+            @Value("${users.retry-budget.min-retries-per-second:5}") int minRetriesPerSecond,
+            @Value("${users.retry-budget.window-seconds:10}") int windowSeconds) {
+        RetryBudget budget = new RetryBudget(ratio, minRetriesPerSecond, windowSeconds);
+        FunctionCounter.builder("users.retry.budget.exhausted", budget, b -> b.snapshot().exhausted())
+                .description("Retry-i preskočeni jer je budžet potrošen")
+                .register(meterRegistry);
+        return budget;
+    }
+
+    @Bean
+    public Capability usersServiceLimiterCapability(AdaptiveConcurrencyLimiter limiter, RetryBudget retryBudget) {
+        return new UsersServiceLimiterCapability(limiter, retryBudget);
+    }
+
+    /**
+     * Isti limit i budžet za neblokirajući put ({@code ReactiveUserClient}).
+     */
+    @Bean
+    public ExchangeFilterFunction usersServiceLimiterFilter(AdaptiveConcurrencyLimiter limiter, RetryBudget retryBudget) {
+        return (request, next) -> Mono.defer(() -> {
+            retryBudget.recordRequest();
+            if (!limiter.tryAcquire()) {
+                return Mono.error(new ConcurrencyLimitExceededException(
+                        "Users-service concurrency limit reached (" + limiter.getLimit() + " in flight)"));
+            }
+            long start = System.nanoTime();
+            AtomicBoolean released = new AtomicBoolean();
+            return next.exchange(request)
+                    .doOnSuccess(response -> release(limiter, released, start, response == null
+                            || isOverloadStatus(response.statusCode().value())))
+                    .doOnError(e -> release(limiter, released, start, true))
+                    .doOnCancel(() -> release(limiter, released, start, false));
+        });
+    }
+
+    /**
+     * Retry ne ponavlja lokalno odbijene pozive, a ostale samo dok ima budžeta.
+     * ignore-exceptions iz properties-a se proverava tek posle ovog predikata, pa je provera ovde.
+     */
+    @Bean
+    public RetryConfigCustomizer usersServiceRetryBudgetCustomizer(RetryBudget retryBudget) {
+        return RetryConfigCustomizer.of(RETRY_NAME, builder -> builder.retryOnException(e ->
+                !(e instanceof ConcurrencyLimitExceededException || e instanceof BulkheadFullException)
+                        && retryBudget.canRetry()));
+    }
+
+    @Bean
+    public SmartInitializingSingleton usersServiceRetryBudgetRecorder(RetryRegistry retryRegistry, RetryBudget retryBudget) {
+        return () -> retryRegistry.retry(RETRY_NAME).getEventPublisher().onRetry(event -> retryBudget.recordRetry());
+    }
+
+    static boolean isOverloadStatus(int status) {
+        return status >= 500 || status == 429;
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter limiter, AtomicBoolean released, long start, boolean dropped) {
+        if (released.compareAndSet(false, true)) {
+            limiter.release(System.nanoTime() - start, dropped);
+        }
+    }
+}
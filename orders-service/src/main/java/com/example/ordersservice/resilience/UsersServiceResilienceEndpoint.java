@@ -0,0 +1,85 @@
+package com.example.ordersservice.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/usersdependency – stanje zaštite poziva ka users-service na jednom mestu:
+ * adaptivni limit, retry budžet, bulkhead-ovi, circuit breaker, hedging (ako je uključen) i pool konekcija po instanci.
+ */
+@Component
+@Endpoint(id = "usersdependency")
+public class UsersServiceResilienceEndpoint {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final RetryBudget retryBudget;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final ObjectProvider<HedgingClient> hedgingClient;
+    private final ObjectProvider<HttpClientConnectionManager> connectionManager;
+
+    public UsersServiceResilienceEndpoint(AdaptiveConcurrencyLimiter limiter, RetryBudget retryBudget,
+                                          BulkheadRegistry bulkheadRegistry,
+                                          CircuitBreakerRegistry circuitBreakerRegistry,
+                                          ObjectProvider<HedgingClient> hedgingClient,
+                                          ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        this.limiter = limiter;
+        this.retryBudget = retryBudget;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.hedgingClient = hedgingClient;
+        this.connectionManager = connectionManager;
+    }
+
+    @ReadOperation
+    public Map<String, Object> state() {
+        Map<String, Object> bulkheads = new LinkedHashMap<>();
+        for (Bulkhead bulkhead : bulkheadRegistry.getAllBulkheads()) {
+            bulkheads.put(bulkhead.getName(), Map.of(
+                    "maxConcurrentCalls", bulkhead.getBulkheadConfig().getMaxConcurrentCalls(),
+                    "availableConcurrentCalls", bulkhead.getMetrics().getAvailableConcurrentCalls()));
+        }
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(UsersServiceResilienceConfig.RETRY_NAME);
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("limiter", limiter.snapshot());
+        state.put("retryBudget", retryBudget.snapshot());
+        state.put("bulkheads", bulkheads);
+        state.put("circuitBreaker", Map.of(
+                "state", circuitBreaker.getState().name(),
+                "failureRate", circuitBreaker.getMetrics().getFailureRate()));
+        hedgingClient.ifAvailable(client -> state.put("hedging", client.snapshot()));
+        if (connectionManager.getIfAvailable() instanceof PoolingHttpClientConnectionManager pool) {
+            state.put("connectionPool", connectionPool(pool));
+        }
+        return state;
+    }
+
+    private static Map<String, Object> connectionPool(PoolingHttpClientConnectionManager pool) {
+        Map<String, Object> routes = new LinkedHashMap<>();
+        for (HttpRoute route : pool.getRoutes()) {
+            routes.put(route.getTargetHost().toHostString(), stats(pool.getStats(route)));
+        }
+        Map<String, Object> connectionPool = new LinkedHashMap<>(stats(pool.getTotalStats()));
+        connectionPool.put("routes", routes);
+        return connectionPool;
+    }
+
+    private static Map<String, Object> stats(PoolStats stats) {
+        return Map.of("leased", stats.getLeased(), "available", stats.getAvailable(),
+                "pending", stats.getPending(), "max", stats.getMax());
+    }
+}
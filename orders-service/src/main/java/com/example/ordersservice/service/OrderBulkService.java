@@ -0,0 +1,184 @@
+package com.example.ordersservice.service;
+
+import com.example.ordersservice.DTO.BulkOrderReport;
+import com.example.ordersservice.DTO.BulkOrderResult;
+import com.example.ordersservice.DTO.UserDTO;
+import com.example.ordersservice.cache.UserCache;
+import com.example.ordersservice.feign.UserClient;
+import com.example.ordersservice.model.Order;
+import com.example.ordersservice.publisher.OrderChangedEventPublisher;
+import com.example.ordersservice.publisher.OrderEventPublisher;
+import com.example.ordersservice.readmodel.OrderDetailsReadModel;
+import com.example.ordersservice.repository.OrderRepository;
+import com.example.ordersservice.stats.UserOrderAggregates;
+import feign.FeignException;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Masovni unos narudžbina: svi korisnici se proveravaju unapred (batch poziv ka users-service),
+ * a narudžbine se upisuju u chunk-ovima, svaki u svojoj transakciji, uz JDBC batching
+ * i jedan OrderCreated događaj (outbox) po chunk-u.
+ */
+@Service
+public class OrderBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderBulkService.class);
+    private static final int USER_LOOKUP_BATCH_SIZE = 1000;
+
+    private final OrderRepository orderRepository;
+    private final UserClient userClient;
+    private final UserCache userCache;
+    private final OrderEventPublisher publisher;
+    private final OrderChangedEventPublisher changedPublisher;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final UserOrderAggregates aggregates;
+    private final OrderDetailsReadModel readModel;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public OrderBulkService(OrderRepository orderRepository, UserClient userClient, UserCache userCache,
+                            OrderEventPublisher publisher, OrderChangedEventPublisher changedPublisher,
+                            Validator validator, EntityManager entityManager,
+                            PlatformTransactionManager transactionManager, UserOrderAggregates aggregates,
+                            OrderDetailsReadModel readModel,
+                            @Value("${orders.bulk.chunk-size:500}") int chunkSize,
+                            @Value("${orders.bulk.max-items:10000}") int maxItems) {
+        this.orderRepository = orderRepository;
+        this.userClient = userClient;
+        this.userCache = userCache;
+        this.publisher = publisher;
+        this.changedPublisher = changedPublisher;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.aggregates = aggregates;
+        this.readModel = readModel;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    public BulkOrderReport createOrders(List<Order> orders) {
+        if (orders.size() > maxItems) {
+            throw new IllegalArgumentException("Bulk request must not exceed " + maxItems + " orders");
+        }
+        log.info("📦 Bulk import of {} orders started", orders.size());
+
+        BulkOrderResult[] results = new BulkOrderResult[orders.size()];
+        List<Integer> valid = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            String error = validate(order);
+            if (error != null) {
+                results[i] = BulkOrderResult.rejected(i, error);
+            } else {
+                order.setId(null);
+                valid.add(i);
+            }
+        }
+
+        Set<Long> knownUsers = resolveExistingUsers(valid.stream()
+                .map(i -> orders.get(i).getUserId())
+                .collect(Collectors.toSet()));
+
+        List<Integer> accepted = new ArrayList<>(valid.size());
+        for (Integer i : valid) {
+            Long userId = orders.get(i).getUserId();
+            if (knownUsers.contains(userId)) {
+                accepted.add(i);
+            } else {
+                results[i] = BulkOrderResult.rejected(i, "User not found with ID " + userId);
+            }
+        }
+
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + chunkSize, accepted.size()));
+            insertChunk(orders, chunk, results);
+        }
+
+        BulkOrderReport report = BulkOrderReport.of(Arrays.asList(results));
+        log.info("✅ Bulk import finished: {} created, {} rejected, {} failed",
+                report.created(), report.rejected(), report.failed());
+        return report;
+    }
+
+    private void insertChunk(List<Order> orders, List<Integer> chunk, BulkOrderResult[] results) {
+        List<Order> batch = chunk.stream().map(orders::get).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                orderRepository.saveAll(batch);
+                publisher.publishOrdersCreated(batch);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            log.error("💥 Bulk chunk of {} orders failed: {}", batch.size(), e.getMessage());
+            for (Integer i : chunk) {
+                orders.get(i).setId(null);
+                results[i] = BulkOrderResult.failed(i, "Could not save order: " + e.getMessage());
+            }
+            return;
+        }
+
+        for (Integer i : chunk) {
+            Order order = orders.get(i);
+            aggregates.orderCreated(order);
+            readModel.orderSaved(order, userCache.get(order.getUserId()).orElse(null));
+            results[i] = BulkOrderResult.created(i, order.getId());
+        }
+        changedPublisher.sendOrdersCreated(batch);
+    }
+
+    private Set<Long> resolveExistingUsers(Set<Long> userIds) {
+        Set<Long> existing = new HashSet<>();
+        List<Long> unknown = new ArrayList<>();
+        for (Long userId : userIds) {
+            if (userCache.get(userId).isPresent()) {
+                existing.add(userId);
+            } else {
+                unknown.add(userId);
+            }
+        }
+
+        try {
+            for (int from = 0; from < unknown.size(); from += USER_LOOKUP_BATCH_SIZE) {
+                List<UserDTO> users = userClient.getUsersByIds(
+                        unknown.subList(from, Math.min(from + USER_LOOKUP_BATCH_SIZE, unknown.size())));
+                for (UserDTO user : users) {
+                    userCache.put(user);
+                    existing.add(user.id());
+                }
+            }
+        } catch (FeignException e) {
+            log.error("💥 Users-service unavailable during bulk import: {}", e.getMessage());
+            throw new IllegalStateException("Users-service unavailable");
+        }
+        return existing;
+    }
+
+    private String validate(Order order) {
+        if (order == null) {
+            return "Order must not be null";
+        }
+        Set<ConstraintViolation<Order>> violations = validator.validate(order);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
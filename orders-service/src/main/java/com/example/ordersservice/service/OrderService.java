@@ -2,83 +2,122 @@ package com.example.ordersservice.service;
 
 import com.example.ordersservice.DTO.OrderDTO;
 import com.example.ordersservice.DTO.UserDTO;
+import com.example.ordersservice.cache.UserCache;
 import com.example.ordersservice.feign.UserClient;
+import com.example.ordersservice.feign.UserLookupCoalescer;
 import com.example.ordersservice.model.Order;
 import com.example.ordersservice.model.OrderDetails;
+import com.example.ordersservice.readmodel.OrderDetailsReadModel;
 import com.example.ordersservice.repository.OrderRepository;
+import com.example.ordersservice.resilience.ConcurrencyLimitExceededException;
+import com.example.ordersservice.stats.UserOrderAggregates;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import feign.FeignException;
 
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.ordersservice.publisher.OrderChangedEventPublisher;
 import com.example.ordersservice.publisher.OrderEventPublisher;
 
 @Service
 public class OrderService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
+    private static final int MAX_OPTIMISTIC_ATTEMPTS = 3;
 
     private final OrderRepository orderRepository;
     private final UserClient userClient;
-
-    @Autowired
-    private RabbitTemplate rabbitTemplate;
+    private final UserLookupCoalescer userLookup;
+    private final UserCache userCache;
 
     private final OrderEventPublisher publisher;
-
-    public OrderService(OrderRepository orderRepository, UserClient userClient, OrderEventPublisher publisher) {
+    private final OrderChangedEventPublisher changedPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final UserOrderAggregates aggregates;
+    private final OrderDetailsReadModel readModel;
+
+    public OrderService(OrderRepository orderRepository, UserClient userClient,
+                        UserLookupCoalescer userLookup, UserCache userCache, OrderEventPublisher publisher,
+                        OrderChangedEventPublisher changedPublisher, TransactionTemplate transactionTemplate,
+                        UserOrderAggregates aggregates, OrderDetailsReadModel readModel) {
         this.orderRepository = orderRepository;
         this.userClient = userClient;
+        this.userLookup = userLookup;
+        this.userCache = userCache;
         this.publisher = publisher;
+        this.changedPublisher = changedPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.aggregates = aggregates;
+        this.readModel = readModel;
     }
 
-    public OrderDTO toDTO(Order order) {
-        return new OrderDTO(order.getId(), order.getUserId(), order.getProductName(), order.getPrice());
+    public List<Order> getAllOrders() {
+        log.debug("📋 Fetching all orders from database...");
+        return orderRepository.findAll();
     }
 
-    public Order fromDTO(OrderDTO dto) {
-        Order order = new Order();
-        order.setId(dto.id());
-        order.setUserId(dto.userId());
-        order.setProductName(dto.productName());
-        order.setPrice(dto.price());
-        return order;
+    public List<Order> getOrdersPage(Long afterId, int limit) {
+        log.debug("📄 Fetching {} orders after ID {}", limit, afterId);
+        return orderRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
     }
 
-    public List<Order> getAllOrders() {
-        log.info("📋 Fetching all orders from database...");
-        return orderRepository.findAll();
+    public List<OrderDTO> getOrdersForUser(Long userId, Long afterId, int limit) {
+        log.debug("👤 Fetching {} orders of user {} after ID {}", limit, userId, afterId);
+        return orderRepository.findPageByUserId(userId, afterId, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllOrders(Consumer<OrderDTO> sink) {
+        log.debug("🌊 Streaming all orders from database...");
+        try (Stream<OrderDTO> orders = orderRepository.streamAll()) {
+            orders.forEach(sink);
+        }
     }
 
     public Optional<Order> getOrderById(Long id) {
-        log.info("🔍 Searching for order with ID {}", id);
+        log.debug("🔍 Searching for order with ID {}", id);
         return orderRepository.findById(id);
     }
 
     @Retry(name = "userService")
     @CircuitBreaker(name = "userService", fallbackMethod = "fallbackCreateOrder")
+    @Bulkhead(name = "createOrder")
     public Order createOrder(Order order) {
         try {
-            log.info("🧾 Checking user ID {} via users-service...", order.getUserId());
-            userClient.getUserById(order.getUserId());
-            log.info("✅ User exists — saving order to database...");
-            Order savedOrder = orderRepository.save(order);
-
-            String message = "📦 Novi order kreiran! ID: " + savedOrder.getId() +
-                    ", UserID: " + savedOrder.getUserId() +
-                    ", Proizvod: " + savedOrder.getProductName();
-            rabbitTemplate.convertAndSend("orderCreatedQueue", message);
-            log.info("📨 Sent event 'OrderCreated' to RabbitMQ for Order ID {}", savedOrder.getId());
-
-            return savedOrder;
+            UserDTO user = userCache.get(order.getUserId()).orElse(null);
+            if (user == null) {
+                log.debug("🧾 Checking user ID {} via users-service...", order.getUserId());
+                user = userClient.getUserById(order.getUserId());
+                userCache.put(user);
+            }
+            log.debug("✅ User exists — saving order to database...");
+
+            // Order i OrderCreated događaj (outbox) se upisuju atomično; RabbitMQ nije na putu zahteva
+            Order created = transactionTemplate.execute(status -> {
+                Order savedOrder = orderRepository.save(order);
+                publisher.publishOrderCreated(savedOrder);
+                return savedOrder;
+            });
+            aggregates.orderCreated(created);
+            readModel.orderSaved(created, user);
+            changedPublisher.sendOrderCreated(created);
+            return created;
 
         } catch (FeignException e) {
             if (e.status() == 404) {
@@ -91,16 +130,25 @@ public class OrderService {
     }
 
     public Order updateOrder(Long id, Order updated) {
-        log.info("✏️ Updating order with ID {}", id);
-
-        return orderRepository.findById(id)
-                .map(existing -> {
-                    existing.setProductName(updated.getProductName());
-                    existing.setPrice(updated.getPrice());
-                    existing.setUserId(updated.getUserId());
-                    return orderRepository.save(existing);
-                })
-                .orElseThrow(() -> new IllegalArgumentException("Order not found with ID " + id));
+        log.debug("✏️ Updating order with ID {}", id);
+
+        // Staro stanje se čita u istoj transakciji u kojoj se upisuje novo; @Version garantuje da ga
+        // u međuvremenu niko nije promenio, pa se razlika na agregatima primenjuje tačno jednom
+        OrderUpdate update = withOptimisticRetry(id, () -> transactionTemplate.execute(status -> {
+            Order existing = orderRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found with ID " + id));
+            Long oldUserId = existing.getUserId();
+            BigDecimal oldPrice = existing.getPrice();
+            existing.setProductName(updated.getProductName());
+            existing.setPrice(updated.getPrice());
+            existing.setUserId(updated.getUserId());
+            return new OrderUpdate(oldUserId, oldPrice, orderRepository.saveAndFlush(existing));
+        }));
+        Order saved = update.saved();
+        aggregates.orderUpdated(update.previousUserId(), update.previousPrice(), saved);
+        readModel.orderSaved(saved, userCache.get(saved.getUserId()).orElse(null));
+        changedPublisher.sendOrderUpdated(update.previousUserId(), update.previousPrice(), saved);
+        return saved;
     }
 
     public Order fallbackCreateOrder(Order order, Throwable t) {
@@ -108,6 +156,14 @@ public class OrderService {
             log.warn("🚫 Fallback bypassed — user not found: {}", t.getMessage());
             throw (IllegalArgumentException) t;
         }
+        if (t instanceof ConcurrencyLimitExceededException limited) {
+            log.warn("🚦 Order rejected — {}", limited.getMessage());
+            throw limited;
+        }
+        if (t instanceof BulkheadFullException) {
+            log.warn("🚦 Order rejected — createOrder bulkhead full");
+            throw new ConcurrencyLimitExceededException("Too many concurrent orders — please try again later.");
+        }
 
         log.error("⚡ Fallback triggered! Reason: {}", t.getMessage());
         log.warn("🚧 CircuitBreaker OPEN — users-service unavailable");
@@ -115,30 +171,61 @@ public class OrderService {
     }
 
     public void deleteOrder(Long id) {
-        log.info("🗑️ Deleting order with ID {}", id);
-        if (!orderRepository.existsById(id)) {
-            throw new IllegalArgumentException("Order not found with ID " + id);
+        log.debug("🗑️ Deleting order with ID {}", id);
+        Order order = withOptimisticRetry(id, () -> transactionTemplate.execute(status -> {
+            Order existing = orderRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found with ID " + id));
+            orderRepository.delete(existing);
+            orderRepository.flush();
+            return existing;
+        }));
+        aggregates.orderDeleted(order);
+        readModel.orderDeleted(id);
+        changedPublisher.sendOrderDeleted(order);
+        log.debug("✅ Successfully deleted order with ID {}", id);
+    }
+
+    // Transakcija koja je izgubila trku ponavlja se nad svežim stanjem porudžbine
+    private <T> T withOptimisticRetry(Long id, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= MAX_OPTIMISTIC_ATTEMPTS) {
+                    log.warn("⚠️ Order {} still modified concurrently after {} attempts", id, attempt);
+                    throw new IllegalStateException("Order " + id + " was modified concurrently — please try again");
+                }
+                log.debug("🔁 Order {} modified concurrently — retrying ({}/{})", id, attempt, MAX_OPTIMISTIC_ATTEMPTS);
+            }
         }
-        orderRepository.deleteById(id);
-        log.info("✅ Successfully deleted order with ID {}", id);
+    }
+
+    private record OrderUpdate(Long previousUserId, BigDecimal previousPrice, Order saved) {
     }
 
     @CircuitBreaker(name = "userService", fallbackMethod = "fallbackGetOrderDetails")
     @Retry(name = "userService")
+    @Bulkhead(name = "orderDetails")
     public OrderDetails getOrderDetails(Long id) {
-        log.info("🔗 Fetching detailed info for order ID {}", id);
+        log.debug("🔗 Fetching detailed info for order ID {}", id);
 
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found with ID " + id));
 
-        UserDTO user = userClient.getUserById(order.getUserId());
+        UserDTO user = userCache.get(order.getUserId()).orElseGet(() -> {
+            UserDTO fetched = userLookup.getUserById(order.getUserId());
+            userCache.put(fetched);
+            return fetched;
+        });
+        readModel.orderLoaded(order, user);
         return new OrderDetails(order, user);
     }
 
     public OrderDetails fallbackGetOrderDetails(Long id, Throwable t) {
         log.warn("⚠️ Users-service unavailable — returning partial order data for ID {}", id);
 
-        Order order = orderRepository.findById(id)
+        Order order = readModel.findOrder(id)
+                .or(() -> orderRepository.findById(id))
                 .orElseThrow(() -> new IllegalArgumentException("Order not found with ID " + id));
 
         UserDTO fallbackUser = new UserDTO(null, "Unknown user (service unavailable)", "-");
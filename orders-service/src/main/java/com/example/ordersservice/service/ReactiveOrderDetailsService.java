@@ -0,0 +1,108 @@
+package com.example.ordersservice.service;
+
+import com.example.ordersservice.DTO.UserDTO;
+import com.example.ordersservice.cache.UserCache;
+import com.example.ordersservice.client.ReactiveUserClient;
+import com.example.ordersservice.model.Order;
+import com.example.ordersservice.model.OrderDetails;
+import com.example.ordersservice.readmodel.OrderDetailsReadModel;
+import com.example.ordersservice.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.*;
+
+/**
+ * Neblokirajuća agregacija Order + User. JPA upit ide na boundedElastic scheduler,
+ * a poziv ka users-service ne drži nit dok čeka odgovor. Za listu se svi nedostajući
+ * korisnici dohvataju jednim batch pozivom.
+ */
+@Service
+public class ReactiveOrderDetailsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveOrderDetailsService.class);
+    private static final UserDTO UNKNOWN_USER = new UserDTO(null, "Unknown user (service unavailable)", "-");
+
+    private final OrderRepository orderRepository;
+    private final ReactiveUserClient userClient;
+    private final UserCache userCache;
+    private final OrderDetailsReadModel readModel;
+
+    public ReactiveOrderDetailsService(OrderRepository orderRepository, ReactiveUserClient userClient, UserCache userCache,
+                                       OrderDetailsReadModel readModel) {
+        this.orderRepository = orderRepository;
+        this.userClient = userClient;
+        this.userCache = userCache;
+        this.readModel = readModel;
+    }
+
+    public Mono<OrderDetails> getOrderDetails(Long id) {
+        Optional<OrderDetails> local = readModel.find(id);
+        if (local.isPresent()) {
+            return Mono.just(local.get());
+        }
+        return Mono.fromCallable(() -> orderRepository.findById(id))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(order -> order.map(Mono::just)
+                        .orElseGet(() -> Mono.error(new IllegalArgumentException("Order not found with ID " + id))))
+                .flatMap(order -> lookupUser(order.getUserId())
+                        .doOnNext(user -> {
+                            if (user != UNKNOWN_USER) {
+                                readModel.orderLoaded(order, user);
+                            }
+                        })
+                        .map(user -> new OrderDetails(order, user)));
+    }
+
+    public Mono<List<OrderDetails>> getOrderDetailsPage(Long afterId, int limit) {
+        return Mono.fromCallable(() -> orderRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(orders -> lookupUsers(orders)
+                        .map(users -> orders.stream()
+                                .map(order -> new OrderDetails(order, users.getOrDefault(order.getUserId(), UNKNOWN_USER)))
+                                .toList()));
+    }
+
+    private Mono<UserDTO> lookupUser(Long userId) {
+        Optional<UserDTO> cached = userCache.get(userId);
+        if (cached.isPresent()) {
+            return Mono.just(cached.get());
+        }
+        return userClient.getUserById(userId)
+                .doOnNext(userCache::put)
+                .onErrorResume(e -> {
+                    log.warn("⚠️ Users-service lookup failed for user {} — returning partial data: {}", userId, e.getMessage());
+                    return Mono.just(UNKNOWN_USER);
+                });
+    }
+
+    private Mono<Map<Long, UserDTO>> lookupUsers(List<Order> orders) {
+        Map<Long, UserDTO> users = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        for (Order order : orders) {
+            Long userId = order.getUserId();
+            if (users.containsKey(userId) || missing.contains(userId)) {
+                continue;
+            }
+            userCache.get(userId).ifPresentOrElse(user -> users.put(userId, user), () -> missing.add(userId));
+        }
+
+        return userClient.getUsersByIds(missing)
+                .map(fetched -> {
+                    fetched.forEach(user -> {
+                        userCache.put(user);
+                        users.put(user.id(), user);
+                    });
+                    return users;
+                })
+                .onErrorResume(e -> {
+                    log.warn("⚠️ Users-service batch lookup failed for {} users — returning partial data: {}",
+                            missing.size(), e.getMessage());
+                    return Mono.just(users);
+                });
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.ordersservice.stats;
+
+import com.example.ordersservice.DTO.UserOrderStats;
+import com.example.ordersservice.event.OrderChangedEvent;
+import com.example.ordersservice.model.Order;
+import com.example.ordersservice.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Broj i zbir narudžbina po korisniku, ažurirani inkrementalno pri kreiranju, izmeni i brisanju
+ * (posle uspešnog upisa u bazu). Iznosi su u centima (long). Pored mape po korisniku drži se i skup
+ * sortiran po potrošnji, pa je top-N samo čitanje prvih N elemenata.
+ * Stanje je u memoriji i pravi se iz tabele orders pri startu, pre nego što servis primi prvi zahtev;
+ * upisi na drugim instancama stižu kao OrderChanged događaji ({@code OrderChangedListener}), a {@link #rebuild()}
+ * ispravlja odstupanja ako je neki događaj propušten.
+ */
+@Component
+public class UserOrderAggregates implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(UserOrderAggregates.class);
+    private static final Comparator<UserOrderStats> BY_SPEND = Comparator
+            .comparingLong(UserOrderStats::totalCents).reversed()
+            .thenComparing(UserOrderStats::userId);
+
+    private final OrderRepository orderRepository;
+    private final Map<Long, UserOrderStats> byUser = new ConcurrentHashMap<>();
+    private final NavigableSet<UserOrderStats> bySpend = new ConcurrentSkipListSet<>(BY_SPEND);
+
+    public UserOrderAggregates(OrderRepository orderRepository, MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        meterRegistry.gaugeMapSize("orders.stats.users", List.of(), byUser);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Usklađuje stanje sa tabelom orders: pri startu, posle (ponovnog) povezivanja sa RabbitMQ-om i periodično,
+     * jer propušten OrderChanged događaj inače trajno ostavlja pogrešan zbir. Korisnici se zamenjuju jedan po jedan,
+     * pa čitaoci ni tokom usklađivanja ne vide prazne agregate.
+     */
+    @Scheduled(initialDelayString = "${orders.stats.reconcile-interval:5m}",
+            fixedDelayString = "${orders.stats.reconcile-interval:5m}")
+    public void rebuild() {
+        Map<Long, UserOrderStats> snapshot = new HashMap<>();
+        long orders = 0;
+        for (OrderRepository.UserTotals totals : orderRepository.sumByUser()) {
+            UserOrderStats stats = new UserOrderStats(totals.getUserId(), totals.getOrderCount(), toCents(totals.getTotal()));
+            snapshot.put(stats.userId(), stats);
+            orders += stats.orderCount();
+        }
+        int corrected = 0;
+        for (Long userId : byUser.keySet()) {
+            if (!snapshot.containsKey(userId) && replace(userId, null)) {
+                corrected++;
+            }
+        }
+        for (UserOrderStats stats : snapshot.values()) {
+            if (replace(stats.userId(), stats)) {
+                corrected++;
+            }
+        }
+        log.info("📊 Order aggregates rebuilt: {} users, {} orders, {} users corrected", snapshot.size(), orders, corrected);
+    }
+
+    public UserOrderStats get(Long userId) {
+        return byUser.getOrDefault(userId, new UserOrderStats(userId, 0, 0));
+    }
+
+    public List<UserOrderStats> top(int n) {
+        List<UserOrderStats> top = new ArrayList<>(Math.min(n, byUser.size()));
+        Iterator<UserOrderStats> it = bySpend.iterator();
+        while (top.size() < n && it.hasNext()) {
+            top.add(it.next());
+        }
+        return top;
+    }
+
+    public void orderCreated(Order order) {
+        apply(order.getUserId(), 1, toCents(order.getPrice()));
+    }
+
+    public void orderUpdated(Long oldUserId, BigDecimal oldPrice, Order updated) {
+        apply(oldUserId, -1, -toCents(oldPrice));
+        apply(updated.getUserId(), 1, toCents(updated.getPrice()));
+    }
+
+    public void orderDeleted(Order order) {
+        apply(order.getUserId(), -1, -toCents(order.getPrice()));
+    }
+
+    // Izmena sa druge instance: prethodno stanje se oduzima, novo dodaje
+    public void orderChanged(OrderChangedEvent event) {
+        if (event.previousUserId() != null) {
+            apply(event.previousUserId(), -1, -toCents(event.previousPrice()));
+        }
+        if (event.userId() != null) {
+            apply(event.userId(), 1, toCents(event.price()));
+        }
+    }
+
+    // compute je atomičan po korisniku, pa se i sortirani skup menja pod istim zaključavanjem
+    private void apply(Long userId, long countDelta, long centsDelta) {
+        byUser.compute(userId, (id, current) -> {
+            long count = countDelta;
+            long cents = centsDelta;
+            if (current != null) {
+                bySpend.remove(current);
+                count += current.orderCount();
+                cents += current.totalCents();
+            }
+            if (count <= 0) {
+                return null;
+            }
+            UserOrderStats next = new UserOrderStats(id, count, cents);
+            bySpend.add(next);
+            return next;
+        });
+    }
+
+    private boolean replace(Long userId, UserOrderStats stats) {
+        boolean[] changed = new boolean[1];
+        byUser.compute(userId, (id, current) -> {
+            changed[0] = !Objects.equals(current, stats);
+            if (changed[0]) {
+                if (current != null) {
+                    bySpend.remove(current);
+                }
+                if (stats != null) {
+                    bySpend.add(stats);
+                }
+            }
+            return stats;
+        });
+        return changed[0];
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.ordersservice.controller;
+
+import com.example.gatewayauth.GatewayToken;
+import com.example.gatewayauth.GatewayTokenSigner;
+import com.example.ordersservice.DTO.OrderDTO;
+import com.example.ordersservice.feign.UserClient;
+import com.example.ordersservice.readmodel.OrderDetailsReadModel;
+import com.example.ordersservice.service.OrderBulkService;
+import com.example.ordersservice.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(OrderController.class)
+class OrderControllerWebMvcTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private OrderService orderService;
+
+    @MockBean
+    private OrderBulkService orderBulkService;
+
+    @MockBean
+    private UserClient userClient;
+
+    @MockBean
+    private OrderDetailsReadModel readModel;
+
+    @Autowired
+    private GatewayTokenSigner tokenSigner;
+
+    private final HttpHeaders gatewayHeaders = new HttpHeaders();
+
+    @BeforeEach
+    void addGatewayToken() {
+        gatewayHeaders.set(GatewayToken.HEADER, tokenSigner.currentToken());
+    }
+
+    @Test
+    void getByUser_fullPage_shouldReturnNextCursor() throws Exception {
+        Mockito.when(orderService.getOrdersForUser(7L, 10L, 2)).thenReturn(List.of(
+                new OrderDTO(11L, 7L, "Laptop", new BigDecimal("1200.00")),
+                new OrderDTO(15L, 7L, "Miš", new BigDecimal("19.99"))));
+
+        mockMvc.perform(
+                        get("/orders")
+                                .param("userId", "7")
+                                .param("after", "10")
+                                .param("limit", "2")
+                                .headers(gatewayHeaders)
+                                .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "15"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].productName").value("Miš"));
+    }
+
+    @Test
+    void getByUser_lastPage_shouldHaveNoCursor_andLimitIsClamped() throws Exception {
+        Mockito.when(orderService.getOrdersForUser(Mockito.eq(7L), Mockito.eq(0L), Mockito.anyInt()))
+                .thenReturn(List.of(new OrderDTO(11L, 7L, "Laptop", new BigDecimal("1200.00"))));
+
+        mockMvc.perform(get("/orders").param("userId", "7").param("limit", "5000").headers(gatewayHeaders))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+        mockMvc.perform(get("/orders").param("userId", "7").param("limit", "0").headers(gatewayHeaders))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "11"));
+        mockMvc.perform(get("/orders").param("userId", "7").headers(gatewayHeaders))
+                .andExpect(status().isOk());
+
+        Mockito.verify(orderService).getOrdersForUser(7L, 0L, 1000);
+        Mockito.verify(orderService).getOrdersForUser(7L, 0L, 1);
+        Mockito.verify(orderService).getOrdersForUser(7L, 0L, 100);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.ordersservice.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCreatedEventMessageConverterTest {
+
+    OrderCreatedEventMessageConverter converter = new OrderCreatedEventMessageConverter();
+
+    @Test
+    void events_shouldRoundTripThroughBinaryFormat() {
+        Instant createdAt = Instant.ofEpochMilli(1_700_000_000_123L);
+        List<OrderCreatedEvent> events = List.of(
+                new OrderCreatedEvent(1L, 7L, "Laptop", new BigDecimal("1299.99"), createdAt),
+                new OrderCreatedEvent(Long.MAX_VALUE, 8L, "Čaša ☕", new BigDecimal("-0.5"), createdAt));
+
+        Message message = converter.toMessage(events, new MessageProperties());
+
+        assertEquals(OrderCreatedEventCodec.CONTENT_TYPE, message.getMessageProperties().getContentType());
+        assertEquals(events, converter.fromMessage(message));
+    }
+
+    @Test
+    void textMessage_shouldBeHandledByDelegate() {
+        Message message = converter.toMessage("hello", new MessageProperties());
+
+        assertEquals(MessageProperties.CONTENT_TYPE_TEXT_PLAIN, message.getMessageProperties().getContentType());
+        assertEquals("hello", converter.fromMessage(message));
+    }
+
+    @Test
+    void truncatedPayload_shouldFailConversion() {
+        byte[] body = OrderCreatedEventCodec.encode(List.of(
+                new OrderCreatedEvent(1L, 2L, "Miš", new BigDecimal("19.90"), Instant.now())));
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(OrderCreatedEventCodec.CONTENT_TYPE);
+
+        Message truncated = new Message(Arrays.copyOf(body, body.length - 2), properties);
+
+        assertThrows(MessageConversionException.class, () -> converter.fromMessage(truncated));
+    }
+
+    @Test
+    void implausibleEventCount_shouldBeRejectedBeforeAllocating() {
+        // Zaglavlje najavljuje Integer.MAX_VALUE događaja, a telo ima samo nekoliko bajtova
+        byte[] hugeCount = {OrderCreatedEventCodec.MAGIC, OrderCreatedEventCodec.VERSION,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 1, 2, 3, 4, 5, 6};
+        // Varint -1, tj. negativan broj događaja
+        byte[] negativeCount = {OrderCreatedEventCodec.MAGIC, OrderCreatedEventCodec.VERSION,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01};
+
+        assertThrows(IllegalArgumentException.class, () -> OrderCreatedEventCodec.decode(hugeCount));
+        assertThrows(IllegalArgumentException.class, () -> OrderCreatedEventCodec.decode(negativeCount));
+    }
+}
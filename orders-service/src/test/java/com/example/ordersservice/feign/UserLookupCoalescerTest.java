@@ -0,0 +1,104 @@
+package com.example.ordersservice.feign;
+
+import com.example.ordersservice.DTO.UserDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserLookupCoalescerTest {
+
+    @Mock
+    UserClient userClient;
+
+    @Test
+    void lookupsArrivingWhileACallIsInFlight_shouldBeServedByOneBatchCall() throws Exception {
+        when(userClient.getUsersByIds(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            return ids.stream().map(id -> new UserDTO(id, "User " + id, id + "@example.com")).toList();
+        });
+        UserLookupCoalescer coalescer = new UserLookupCoalescer(userClient, true, Duration.ofMillis(200), 3);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch release = blockSingleLookupOf(5L);
+            Future<UserDTO> inFlight = pool.submit(() -> coalescer.getUserById(5L));
+            verify(userClient, timeout(5000)).getUserById(5L);
+
+            List<Future<UserDTO>> results = List.of(
+                    pool.submit(() -> coalescer.getUserById(1L)),
+                    pool.submit(() -> coalescer.getUserById(2L)),
+                    pool.submit(() -> coalescer.getUserById(3L)));
+
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i + 1L, results.get(i).get(5, TimeUnit.SECONDS).id());
+            }
+            release.countDown();
+            assertEquals(5L, inFlight.get(5, TimeUnit.SECONDS).id());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(userClient, times(1)).getUsersByIds(argThat(ids -> ids.size() == 3));
+        verify(userClient, never()).getUserById(1L);
+    }
+
+    @Test
+    void lookupWithNoOtherCallInFlight_shouldNotWaitForTheWindow() {
+        when(userClient.getUserById(7L)).thenReturn(new UserDTO(7L, "Mika", "mika@example.com"));
+        UserLookupCoalescer coalescer = new UserLookupCoalescer(userClient, true, Duration.ofSeconds(10), 100);
+
+        long start = System.nanoTime();
+        assertEquals("Mika", coalescer.getUserById(7L).name());
+        assertEquals("Mika", coalescer.getUserById(7L).name());
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "lone lookups must not wait for the window");
+        verify(userClient, times(2)).getUserById(7L);
+        verify(userClient, never()).getUsersByIds(anyCollection());
+    }
+
+    @Test
+    void missingUserInBatch_shouldFailOnlyThatLookup() throws Exception {
+        when(userClient.getUsersByIds(anyCollection()))
+                .thenReturn(List.of(new UserDTO(1L, "Ana", "ana@example.com")));
+        UserLookupCoalescer coalescer = new UserLookupCoalescer(userClient, true, Duration.ofMillis(200), 2);
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            CountDownLatch release = blockSingleLookupOf(5L);
+            pool.submit(() -> coalescer.getUserById(5L));
+            verify(userClient, timeout(5000)).getUserById(5L);
+
+            Future<UserDTO> found = pool.submit(() -> coalescer.getUserById(1L));
+            Future<UserDTO> missing = pool.submit(() -> coalescer.getUserById(99L));
+
+            assertEquals("Ana", found.get(5, TimeUnit.SECONDS).name());
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> missing.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+            assertTrue(ex.getCause().getMessage().contains("User not found with ID 99"));
+            release.countDown();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Pojedinačan poziv koji ostaje u toku dok se latch ne otpusti, da bi sledeći upiti otvorili prozor
+    private CountDownLatch blockSingleLookupOf(Long id) {
+        CountDownLatch release = new CountDownLatch(1);
+        when(userClient.getUserById(id)).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new UserDTO(id, "User " + id, id + "@example.com");
+        });
+        return release;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.ordersservice.listener;
+
+import com.example.ordersservice.config.RabbitConfig;
+import com.example.ordersservice.publisher.OrderEventPublisher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueInformation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LegacyOrderQueueCleanupTest {
+
+    private static final String LEGACY = OrderEventPublisher.LEGACY_ORDER_CREATED_QUEUE;
+
+    @Mock
+    AmqpAdmin amqpAdmin;
+
+    @InjectMocks
+    LegacyOrderQueueCleanup cleanup;
+
+    @Test
+    void durableQueue_shouldUseNewName_soExistingBrokersDoNotRejectTheRedeclare() {
+        Queue queue = new RabbitConfig().orderCreatedQueue();
+
+        assertNotEquals(LEGACY, queue.getName());
+        assertTrue(queue.isDurable());
+        assertEquals(RabbitConfig.ORDERS_DLX, queue.getArguments().get("x-dead-letter-exchange"));
+        assertEquals(queue.getName() + ".dlq", RabbitConfig.ORDER_CREATED_DLQ);
+    }
+
+    @Test
+    void emptyLegacyQueue_shouldBeDeleted() {
+        when(amqpAdmin.getQueueInfo(LEGACY)).thenReturn(new QueueInformation(LEGACY, 0, 0));
+
+        cleanup.deleteLegacyQueue();
+
+        verify(amqpAdmin).deleteQueue(LEGACY, true, true);
+    }
+
+    @Test
+    void legacyQueueWithMessages_shouldBeKeptUntilDrained() {
+        when(amqpAdmin.getQueueInfo(LEGACY)).thenReturn(new QueueInformation(LEGACY, 12, 1));
+
+        cleanup.deleteLegacyQueue();
+
+        verify(amqpAdmin, never()).deleteQueue(anyString(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void missingLegacyQueue_shouldBeIgnored() {
+        cleanup.deleteLegacyQueue();
+
+        verify(amqpAdmin, never()).deleteQueue(anyString(), anyBoolean(), anyBoolean());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.ordersservice.listener;
+
+import com.example.ordersservice.config.RabbitConfig;
+import com.example.ordersservice.event.OrderChangedEvent;
+import com.example.ordersservice.model.Order;
+import com.example.ordersservice.publisher.OrderChangedEventPublisher;
+import com.example.ordersservice.readmodel.OrderDetailsReadModel;
+import com.example.ordersservice.stats.UserOrderAggregates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderChangedListenerTest {
+
+    @Mock
+    RabbitTemplate rabbitTemplate;
+
+    @Mock
+    UserOrderAggregates aggregates;
+
+    @Mock
+    OrderDetailsReadModel readModel;
+
+    @Mock
+    ConnectionFactory connectionFactory;
+
+    OrderChangedEventPublisher otherInstance;
+    OrderChangedEventPublisher thisInstance;
+    OrderChangedListener listener;
+    MessageConverter listenerConverter = RabbitConfig.jsonEventsMessageConverter();
+
+    @BeforeEach
+    void setUp() {
+        otherInstance = new OrderChangedEventPublisher(rabbitTemplate);
+        thisInstance = new OrderChangedEventPublisher(rabbitTemplate);
+        listener = new OrderChangedListener(thisInstance, aggregates, readModel, connectionFactory);
+    }
+
+    @Test
+    void bulkChunk_shouldBeOneMessage_appliedPerOrderOnOtherInstances() throws Exception {
+        otherInstance.sendOrdersCreated(List.of(
+                new Order(1L, 7L, "Laptop", new BigDecimal("1200.00")),
+                new Order(2L, 8L, "Miš", new BigDecimal("19.99"))));
+
+        listener.handleOrderChanged(receive());
+
+        verify(aggregates, times(2)).orderChanged(any());
+        verify(readModel).orderChanged(argThat(event -> event.orderId() == 2L && event.userId() == 8L));
+    }
+
+    @Test
+    void singleEvent_shouldStillBeAccepted_andOwnEventsSkipped() throws Exception {
+        Order order = new Order(3L, 7L, "Monitor", new BigDecimal("300.00"));
+        otherInstance.sendOrderDeleted(order);
+        List<OrderChangedEvent> deleted = receive();
+        thisInstance.sendOrderCreated(order);
+        List<OrderChangedEvent> own = receive();
+
+        listener.handleOrderChanged(deleted);
+        listener.handleOrderChanged(own);
+
+        assertEquals(1, deleted.size());
+        assertEquals(OrderChangedEvent.Type.DELETED, deleted.get(0).type());
+        verify(aggregates).orderChanged(deleted.get(0));
+        verify(aggregates, never()).orderChanged(own.get(0));
+    }
+
+    @Test
+    void connect_shouldRebuildAggregates() {
+        ArgumentCaptor<ConnectionListener> connectionListener = ArgumentCaptor.forClass(ConnectionListener.class);
+        verify(connectionFactory).addConnectionListener(connectionListener.capture());
+
+        connectionListener.getValue().onCreate(mock(Connection.class));
+
+        verify(aggregates).rebuild();
+    }
+
+    // Poslednja poslata poruka, konvertovana kao što to radi container za tip parametra listener-a
+    @SuppressWarnings("unchecked")
+    private List<OrderChangedEvent> receive() throws Exception {
+        ArgumentCaptor<Message> sent = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate, atLeastOnce()).send(eq(RabbitConfig.ORDERS_EVENTS_EXCHANGE), eq(""), sent.capture());
+        Message message = sent.getValue();
+        clearInvocations(rabbitTemplate);
+
+        Type parameterType = OrderChangedListener.class.getMethod("handleOrderChanged", List.class)
+                .getGenericParameterTypes()[0];
+        MessageProperties properties = message.getMessageProperties();
+        properties.setInferredArgumentType(parameterType);
+        return (List<OrderChangedEvent>) listenerConverter.fromMessage(new Message(message.getBody(), properties));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ordersservice.listener;
+
+import com.example.ordersservice.config.RabbitConfig;
+import com.example.ordersservice.event.OrderCreatedEvent;
+import com.example.ordersservice.event.OrderCreatedEventMessageConverter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderEventListenerTest {
+
+    @Mock
+    RabbitTemplate rabbitTemplate;
+
+    OrderCreatedEventMessageConverter converter = new OrderCreatedEventMessageConverter();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    OrderEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new OrderEventListener(converter, rabbitTemplate, meterRegistry);
+    }
+
+    @Test
+    void batch_shouldRecordEventsAndLag() {
+        Message single = converter.toMessage(event(1L), new MessageProperties());
+        Message bulk = converter.toMessage(List.of(event(2L), event(3L)), new MessageProperties());
+
+        listener.handleOrderCreated(List.of(single, bulk));
+
+        assertEquals(3.0, meterRegistry.get("orders.events.consumed").counter().count());
+        assertEquals(3, meterRegistry.get("orders.events.lag").timer().count());
+        assertEquals(2.0, meterRegistry.get("orders.events.batch.size").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("orders.events.consume").timer().count());
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    void poisonMessage_shouldBeDeadLetteredWithoutFailingBatch() {
+        Message good = converter.toMessage(event(1L), new MessageProperties());
+        Message poison = converter.toMessage("📦 Novi order kreiran! ID: 5", new MessageProperties());
+
+        listener.handleOrderCreated(List.of(poison, good));
+
+        verify(rabbitTemplate).send(RabbitConfig.ORDERS_DLX, RabbitConfig.ORDER_CREATED_DLQ, poison);
+        verify(rabbitTemplate, times(1)).send(any(String.class), any(String.class), any(Message.class));
+        assertEquals(1.0, meterRegistry.get("orders.events.consumed").counter().count());
+        assertEquals(1.0, meterRegistry.get("orders.events.dead.lettered").counter().count());
+    }
+
+    private static OrderCreatedEvent event(Long id) {
+        return new OrderCreatedEvent(id, 7L, "Monitor", new BigDecimal("199.00"), Instant.now().minusMillis(20));
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.ordersservice.load;
+
+import com.example.gatewayauth.GatewayToken;
+import com.example.gatewayauth.GatewayTokenSigner;
+import com.example.ordersservice.OrdersServiceApplication;
+import com.example.ordersservice.model.Order;
+import com.example.ordersservice.repository.OrderRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Poredi kapacitet orders-service u platform i virtual-thread režimu kada je users-service spor.
+ * Pokreće se samo eksplicitno: {@code mvn -pl orders-service test -Pload-test}
+ * (parametri: {@code -Dload.users-delay-ms}, {@code -Dload.requests}, {@code -Dload.concurrency}).
+ */
+@Tag("load")
+class VirtualThreadsLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsLoadTest.class);
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int USERS_DELAY_MS = Integer.getInteger("load.users-delay-ms", 1000);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 3000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 1000);
+
+    private static HttpServer slowUsersService;
+
+    @BeforeAll
+    static void startSlowUsersService() throws IOException {
+        // JDK HttpServer podrazumevano zatvara neaktivne konekcije preko 200, a Feign pool bi ih ponovo koristio
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(CONCURRENCY));
+        slowUsersService = HttpServer.create(new InetSocketAddress("localhost", 0), 2048);
+        slowUsersService.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        slowUsersService.createContext("/users/", exchange -> {
+            sleep(USERS_DELAY_MS);
+            String path = exchange.getRequestURI().getPath();
+            String id = path.substring(path.lastIndexOf('/') + 1);
+            byte[] body = ("{\"id\":" + id + ",\"name\":\"User " + id + "\",\"email\":\"u" + id + "@example.com\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        slowUsersService.start();
+    }
+
+    @AfterAll
+    static void stopSlowUsersService() {
+        slowUsersService.stop(0);
+    }
+
+    @Test
+    void virtualThreads_shouldServeMoreConcurrentRequestsWhenUsersServiceIsSlow() throws Exception {
+        Result platform = run("platform");
+        Result virtual = run("virtual");
+
+        log.info(String.format("%-10s %10s %10s %10s %10s", "mode", "ok req/s", "errors", "p50 ms", "p99 ms"));
+        for (Result r : List.of(platform, virtual)) {
+            log.info(String.format("%-10s %10.0f %10d %10d %10d", r.mode, r.goodput, r.errors, r.p50Millis, r.p99Millis));
+        }
+
+        assertTrue(virtual.goodput > platform.goodput,
+                "virtual-thread mode should sustain more concurrent requests than the bounded platform pool");
+    }
+
+    private Result run(String mode) throws Exception {
+        List<String> props = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:loadtest-" + mode,
+                "eureka.client.enabled=false",
+                "spring.rabbitmq.listener.simple.auto-startup=false",
+                "spring.cloud.openfeign.client.config.users-service.url=http://localhost:" + slowUsersService.getAddress().getPort(),
+                "users.lookup.coalescing.enabled=false",
+                "logging.level.root=WARN",
+                "logging.level.com.example.ordersservice=WARN",
+                "logging.level.com.example.ordersservice.load=INFO",
+                // Spori pozivi (kašnjenje stub-a) ne smeju da otvore circuit breaker u virtual profilu
+                "resilience4j.circuitbreaker.instances.userService.slow-call-duration-threshold=" + USERS_DELAY_MS * 10 + "ms",
+                // Meri se model niti, ne zaštite ispred users-service: timeout iznad kašnjenja stub-a,
+                // bez bulkhead-a i adaptivnog limita, pool konekcija dovoljan za sve istovremene zahteve;
+                // bez open-in-view zahtev ne drži konekciju iz baze dok čeka users-service
+                "spring.jpa.open-in-view=false",
+                "spring.cloud.openfeign.client.config.users-service.read-timeout=" + USERS_DELAY_MS * 10,
+                "resilience4j.bulkhead.instances.orderDetails.max-concurrent-calls=" + CONCURRENCY,
+                "users.limiter.initial-limit=" + CONCURRENCY,
+                "users.limiter.min-limit=" + CONCURRENCY,
+                "users.limiter.max-limit=" + CONCURRENCY,
+                "spring.cloud.openfeign.httpclient.max-connections=" + CONCURRENCY,
+                "spring.cloud.openfeign.httpclient.max-connections-per-route=" + CONCURRENCY,
+                "spring.cloud.openfeign.httpclient.hc5.connection-request-timeout=" + USERS_DELAY_MS * 10,
+                "spring.cloud.openfeign.httpclient.hc5.connection-request-timeout-unit=milliseconds"));
+        if ("virtual".equals(mode)) {
+            props.add("spring.profiles.active=virtual");
+        }
+
+        // Kao argumenti komandne linije, da bi nadjačali application.properties (properties() su samo podrazumevane vrednosti)
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(OrdersServiceApplication.class)
+                .run(props.stream().map(p -> "--" + p).toArray(String[]::new))) {
+            int port = ((ServletWebServerApplicationContext) ctx).getWebServer().getPort();
+
+            // Svaka narudžbina ima drugog korisnika, pa svaki zahtev ide do (sporog) users-service
+            List<Order> orders = ctx.getBean(OrderRepository.class).saveAll(LongStream.rangeClosed(1, REQUESTS)
+                    .mapToObj(i -> new Order(null, i, "Product " + i, BigDecimal.TEN))
+                    .toList());
+            long[] orderIds = orders.stream().mapToLong(Order::getId).toArray();
+
+            return drive(mode, port, orderIds, ctx.getBean(GatewayTokenSigner.class));
+        }
+    }
+
+    private Result drive(String mode, int port, long[] orderIds, GatewayTokenSigner tokenSigner) throws InterruptedException {
+        long[] latencies = new long[orderIds.length];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        try (HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .build()) {
+            ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+            long started = System.nanoTime();
+            for (int c = 0; c < CONCURRENCY; c++) {
+                clients.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < orderIds.length) {
+                        HttpRequest request = HttpRequest.newBuilder(
+                                        URI.create("http://localhost:" + port + "/orders/" + orderIds[i] + "/details"))
+                                .header(GatewayToken.HEADER, tokenSigner.currentToken())
+                                .timeout(Duration.ofSeconds(30))
+                                .build();
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                            if (!isComplete(response)) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - t0;
+                    }
+                    return null;
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(5, TimeUnit.MINUTES);
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            Arrays.sort(latencies);
+            return new Result(mode, (orderIds.length - errors.get()) / seconds, errors.get(),
+                    latencies[latencies.length / 2] / 1_000_000,
+                    latencies[(int) (latencies.length * 0.99)] / 1_000_000);
+        }
+    }
+
+    // Fallback "Unknown user" odgovara sa 200, ali bez korisnika — to nije uspešan zahtev
+    private static boolean isComplete(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() != 200) {
+            return false;
+        }
+        JsonNode userId = JSON.readTree(response.body()).path("user").path("id");
+        return !userId.isMissingNode() && !userId.isNull();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Result(String mode, double goodput, int errors, long p50Millis, long p99Millis) {}
+}
@@ -0,0 +1,62 @@
+package com.example.ordersservice.publisher;
+
+import com.example.ordersservice.event.OrderCreatedEvent;
+import com.example.ordersservice.event.OrderCreatedEventCodec;
+import com.example.ordersservice.event.OrderCreatedEventMessageConverter;
+import com.example.ordersservice.model.Order;
+import com.example.ordersservice.model.OutboxEvent;
+import com.example.ordersservice.repository.OrderRepository;
+import com.example.ordersservice.repository.OutboxEventRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({OrderEventPublisher.class, OrderCreatedEventMessageConverter.class})
+class OrderEventPublisherTest {
+
+    // Podrazumevani orders.bulk.chunk-size
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private OrderEventPublisher publisher;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void publishOrdersCreated_shouldStoreFullDefaultChunkInOneOutboxRow() {
+        List<Order> chunk = orderRepository.saveAll(IntStream.range(0, CHUNK_SIZE)
+                .mapToObj(i -> new Order(null, 1L + i % 50,
+                        "Bežične slušalice model %04d".formatted(i), new BigDecimal("149.99")))
+                .toList());
+
+        publisher.publishOrdersCreated(chunk);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<OutboxEvent> stored = outboxRepository.findAll();
+        assertEquals(1, stored.size());
+        assertTrue(stored.get(0).getPayload().length > 16384);
+        assertEquals(OrderCreatedEventCodec.CONTENT_TYPE, stored.get(0).getContentType());
+
+        List<OrderCreatedEvent> events = OrderCreatedEventCodec.decode(stored.get(0).getPayload());
+        assertEquals(CHUNK_SIZE, events.size());
+        assertEquals(chunk.get(CHUNK_SIZE - 1).getId(), events.get(CHUNK_SIZE - 1).orderId());
+        assertEquals("Bežične slušalice model 0499", events.get(CHUNK_SIZE - 1).productName());
+    }
+}
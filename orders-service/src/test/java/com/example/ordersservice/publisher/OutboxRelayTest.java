@@ -0,0 +1,81 @@
+package com.example.ordersservice.publisher;
+
+import com.example.ordersservice.model.OutboxEvent;
+import com.example.ordersservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    OutboxEventRepository outboxRepository;
+
+    @Mock
+    RabbitTemplate rabbitTemplate;
+
+    @Mock
+    RabbitOperations operations;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(outboxRepository, rabbitTemplate, meterRegistry,
+                true, 10, Duration.ofSeconds(1), Duration.ofMinutes(1));
+        when(rabbitTemplate.invoke(any())).thenAnswer(inv ->
+                inv.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+    }
+
+    @Test
+    void relay_shouldDeleteEventsOnlyAfterBatchIsConfirmed() {
+        when(outboxRepository.findAllByOrderByIdAsc(Limit.of(10))).thenReturn(List.of(event(1L), event(2L)));
+
+        relay.relay();
+
+        verify(operations, times(2)).send(eq(""), eq(OrderEventPublisher.ORDER_CREATED_QUEUE), any(Message.class));
+        verify(operations).waitForConfirmsOrDie(1000L);
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertEquals(2.0, meterRegistry.get("orders.outbox.relayed").counter().count());
+        assertEquals(2.0, meterRegistry.get("orders.outbox.last.relayed.id").gauge().value());
+        assertEquals(1, meterRegistry.get("orders.outbox.publish").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void relay_shouldKeepEventsAndBackOff_whenConfirmFails() {
+        when(outboxRepository.findAllByOrderByIdAsc(Limit.of(10))).thenReturn(List.of(event(1L)));
+        doThrow(new AmqpTimeoutException("no confirm")).when(operations).waitForConfirmsOrDie(anyLong());
+
+        relay.relay();
+        relay.relay();
+
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+        verify(outboxRepository, times(1)).findAllByOrderByIdAsc(any());
+        assertEquals(1.0, meterRegistry.get("orders.outbox.failed.batches").counter().count());
+        assertEquals(1, meterRegistry.get("orders.outbox.publish").tag("outcome", "failure").timer().count());
+    }
+
+    private static OutboxEvent event(Long id) {
+        return new OutboxEvent(id, OrderEventPublisher.ORDER_CREATED_QUEUE, "text/plain",
+                ("event " + id).getBytes(StandardCharsets.UTF_8), Instant.now());
+    }
+}
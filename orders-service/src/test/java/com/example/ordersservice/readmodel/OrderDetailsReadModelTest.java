@@ -0,0 +1,129 @@
+package com.example.ordersservice.readmodel;
+
+import com.example.ordersservice.DTO.OrderDTO;
+import com.example.ordersservice.DTO.UserDTO;
+import com.example.ordersservice.event.OrderChangedEvent;
+import com.example.ordersservice.event.UserChangedEvent;
+import com.example.ordersservice.feign.UserClient;
+import com.example.ordersservice.model.Order;
+import com.example.ordersservice.model.OrderDetails;
+import com.example.ordersservice.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderDetailsReadModelTest {
+
+    @Mock
+    OrderRepository orderRepository;
+
+    @Mock
+    UserClient userClient;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    OrderDetailsReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        readModel = new OrderDetailsReadModel(orderRepository, userClient, transactionManager, meterRegistry,
+                2, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void startup_shouldLoadNewestOrdersUpToLimit_andUsersInOneBatch() {
+        when(orderRepository.streamNewestFirst()).thenReturn(Stream.of(
+                new OrderDTO(2L, 2L, "Mouse", new BigDecimal("19.99")),
+                new OrderDTO(1L, 1L, "Laptop", new BigDecimal("1200.00")),
+                new OrderDTO(0L, 3L, "Kabl", new BigDecimal("5.00"))));
+        when(userClient.getUsersByIds(anyCollection())).thenReturn(List.of(new UserDTO(1L, "Ana", "ana@example.com")));
+
+        readModel.afterSingletonsInstantiated();
+        readModel.loadUsers();
+
+        OrderDetails details = readModel.find(1L).orElseThrow();
+        assertEquals("Ana", details.user().name());
+        assertEquals(new BigDecimal("1200.00"), details.order().getPrice());
+        assertTrue(readModel.find(2L).isEmpty());
+        assertEquals("Mouse", readModel.findOrder(2L).orElseThrow().getProductName());
+        assertTrue(readModel.findOrder(0L).isEmpty());
+        verify(userClient, times(1)).getUsersByIds(anyCollection());
+        assertEquals(1.0, meterRegistry.get("orders.details.readmodel.reads").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void remoteRead_shouldNotOverwriteOrResurrect_ordersChangedByWrites() {
+        UserDTO ana = new UserDTO(1L, "Ana", "ana@example.com");
+        Order loaded = new Order(10L, 1L, "Laptop", new BigDecimal("1200.00"));
+        readModel.orderSaved(new Order(10L, 1L, "Laptop", new BigDecimal("999.00")), ana);
+        readModel.orderLoaded(loaded, ana);
+        assertEquals(new BigDecimal("999.00"), readModel.findOrder(10L).orElseThrow().getPrice());
+
+        readModel.orderDeleted(10L);
+        readModel.orderLoaded(loaded, ana);
+        assertTrue(readModel.findOrder(10L).isEmpty());
+
+        readModel.orderLoaded(new Order(11L, 1L, "Miš", new BigDecimal("19.99")), ana);
+        assertEquals("Ana", readModel.find(11L).orElseThrow().user().name());
+    }
+
+    @Test
+    void orderChangedEvents_fromAnotherInstance_shouldUpdateRows() {
+        Order order = new Order(10L, 1L, "Laptop", new BigDecimal("1200.00"));
+        readModel.orderChanged(OrderChangedEvent.created("other", order));
+        readModel.orderChanged(OrderChangedEvent.updated("other", 1L, order.getPrice(),
+                new Order(10L, 2L, "Laptop", new BigDecimal("1100.50"))));
+        assertEquals(2L, readModel.findOrder(10L).orElseThrow().getUserId());
+
+        readModel.orderChanged(OrderChangedEvent.deleted("other", order));
+        assertTrue(readModel.findOrder(10L).isEmpty());
+    }
+
+    @Test
+    void userChangedEvents_shouldUpdateOrDropUser_andDeletedOrdersDisappear() {
+        readModel.orderSaved(new Order(10L, 1L, "Laptop", new BigDecimal("1200.00")), new UserDTO(1L, "Ana", "ana@example.com"));
+
+        readModel.userChanged(new UserChangedEvent(1L, UserChangedEvent.Type.UPDATED, "Ana Anić", "ana.anic@example.com"));
+        assertEquals(new UserDTO(1L, "Ana Anić", "ana.anic@example.com"), readModel.find(10L).orElseThrow().user());
+
+        readModel.userChanged(new UserChangedEvent(1L, UserChangedEvent.Type.UPDATED, null, null));
+        assertTrue(readModel.find(10L).isEmpty());
+
+        readModel.userLoaded(new UserDTO(1L, "Ana", "ana@example.com"));
+        readModel.orderDeleted(10L);
+        assertTrue(readModel.findOrder(10L).isEmpty());
+    }
+
+    @Test
+    void refreshUsers_shouldKeepUsersDuringOutage_andApplyChangesWhenServiceIsBack() {
+        readModel.orderSaved(new Order(10L, 1L, "Laptop", new BigDecimal("1200.00")), new UserDTO(1L, "Ana", "ana@example.com"));
+        readModel.orderSaved(new Order(11L, 2L, "Miš", new BigDecimal("19.99")), new UserDTO(2L, "Marko", "marko@example.com"));
+        when(userClient.getUsersByIds(anyCollection()))
+                .thenThrow(new IllegalStateException("users-service down"))
+                .thenReturn(List.of(new UserDTO(1L, "Ana Anić", "ana@example.com")));
+
+        readModel.refreshUsers();
+        assertEquals("Ana", readModel.find(10L).orElseThrow().user().name());
+        assertEquals("Marko", readModel.find(11L).orElseThrow().user().name());
+
+        readModel.refreshUsers();
+        assertEquals("Ana Anić", readModel.find(10L).orElseThrow().user().name());
+        assertTrue(readModel.find(11L).isEmpty());
+    }
+}
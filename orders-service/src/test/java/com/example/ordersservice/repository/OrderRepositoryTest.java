@@ -0,0 +1,55 @@
+package com.example.ordersservice.repository;
+
+import com.example.ordersservice.DTO.OrderDTO;
+import com.example.ordersservice.model.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private List<Long> anaOrderIds;
+
+    @BeforeEach
+    void setUp() {
+        // Porudžbine dva korisnika su izmešane, da bi filter po korisniku i redosled po ID-ju imali smisla
+        List<Order> saved = orderRepository.saveAll(List.of(
+                new Order(null, 1L, "Laptop", new BigDecimal("1200.00")),
+                new Order(null, 2L, "Monitor", new BigDecimal("300.00")),
+                new Order(null, 1L, "Miš", new BigDecimal("19.99")),
+                new Order(null, 2L, "Kabl", new BigDecimal("5.00")),
+                new Order(null, 1L, "Tastatura", new BigDecimal("129.99"))));
+        anaOrderIds = saved.stream().filter(o -> o.getUserId() == 1L).map(Order::getId).toList();
+    }
+
+    @Test
+    void findPageByUserId_shouldReturnOnlyUsersOrders_inIdOrder_upToLimit() {
+        List<OrderDTO> page = orderRepository.findPageByUserId(1L, 0L, Limit.of(2));
+
+        assertEquals(anaOrderIds.subList(0, 2), page.stream().map(OrderDTO::id).toList());
+        assertTrue(page.stream().allMatch(order -> order.userId() == 1L));
+        assertEquals("Laptop", page.get(0).productName());
+        assertEquals(new BigDecimal("1200.00"), page.get(0).price());
+    }
+
+    @Test
+    void findPageByUserId_shouldContinueAfterCursor_untilPagesRunOut() {
+        List<OrderDTO> next = orderRepository.findPageByUserId(1L, anaOrderIds.get(1), Limit.of(2));
+        List<OrderDTO> last = orderRepository.findPageByUserId(1L, anaOrderIds.get(2), Limit.of(2));
+
+        assertEquals(List.of(anaOrderIds.get(2)), next.stream().map(OrderDTO::id).toList());
+        assertTrue(last.isEmpty());
+        assertTrue(orderRepository.findPageByUserId(3L, 0L, Limit.of(2)).isEmpty());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.ordersservice.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            new AdaptiveConcurrencyLimiter.Settings(10, 2, 100, 0.2, 0.9, 1.5, 600));
+
+    @Test
+    void limit_shouldRejectOverLimit_andGrowWhileLatencyIsStable() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.snapshot().rejected());
+
+        // zasićen limit i stabilan RTT → limit raste
+        for (int round = 0; round < 20; round++) {
+            limiter.release(10 * MS, false);
+            assertTrue(limiter.tryAcquire());
+        }
+        assertTrue(limiter.getLimit() > 10, "limit should grow, was " + limiter.getLimit());
+    }
+
+    @Test
+    void limit_shouldShrink_whenLatencyRisesOrCallsAreDropped() {
+        saturateWithRtt(10 * MS, 200);
+        int healthy = limiter.getLimit();
+
+        saturateWithRtt(100 * MS, 1);
+        int slow = limiter.getLimit();
+        assertTrue(slow < healthy, "limit should shrink on latency increase: " + healthy + " → " + slow);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(1 * MS, true);
+        assertEquals((int) (slow * 0.9), limiter.getLimit(), 1);
+        assertEquals(1, limiter.snapshot().dropped());
+    }
+
+    private void saturateWithRtt(long rttNanos, int samples) {
+        for (int i = 0; i < samples; i++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int j = 0; j < acquired; j++) {
+                limiter.release(rttNanos, false);
+            }
+        }
+    }
+}
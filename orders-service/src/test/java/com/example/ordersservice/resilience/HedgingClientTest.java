@@ -0,0 +1,166 @@
+package com.example.ordersservice.resilience;
+
+import com.example.ordersservice.feign.UserClient;
+import feign.Client;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HedgingClientTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+    private final CountDownLatch slowCallInterrupted = new CountDownLatch(1);
+    private HedgingClient hedgingClient;
+
+    // Instanca na portu 8001 odgovara za 100ms (ili se prekida), ona na 8002 odmah
+    private final Client instances = (request, options) -> {
+        int port = URI.create(request.url()).getPort();
+        if (port == 8001) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                slowCallInterrupted.countDown();
+                throw new java.io.InterruptedIOException();
+            }
+        }
+        return Response.builder().request(request).status(200).reason("instance-" + port)
+                .headers(Map.of()).body("{}", StandardCharsets.UTF_8).build();
+    };
+
+    @AfterEach
+    void tearDown() {
+        hedgingClient.close();
+    }
+
+    @Test
+    void slowPrimary_shouldBeHedgedToOtherInstance_andCancelled() throws Exception {
+        when(discoveryClient.getInstances("users-service")).thenReturn(List.of(
+                new DefaultServiceInstance("a", "users-service", "localhost", 8001, false),
+                new DefaultServiceInstance("b", "users-service", "localhost", 8002, false)));
+        hedgingClient = hedging(new RetryBudget(0.5, 1, 10));
+
+        Response response = hedgingClient.execute(getUser("http://localhost:8001/users/1"), new Request.Options());
+
+        assertEquals("instance-8002", response.reason());
+        assertTrue(slowCallInterrupted.await(1, TimeUnit.SECONDS), "loser should be cancelled");
+        assertEquals(1, meterRegistry.get("users.hedging.hedges").counter().count());
+        assertEquals(1, meterRegistry.get("users.hedging.wins").tag("winner", "hedge").counter().count());
+    }
+
+    @Test
+    void exhaustedBudget_shouldWaitForPrimary() throws Exception {
+        when(discoveryClient.getInstances("users-service")).thenReturn(List.of(
+                new DefaultServiceInstance("a", "users-service", "localhost", 8001, false),
+                new DefaultServiceInstance("b", "users-service", "localhost", 8002, false)));
+        hedgingClient = hedging(new RetryBudget(0, 0, 10));
+
+        Response response = hedgingClient.execute(getUser("http://localhost:8001/users/1"), new Request.Options());
+
+        assertEquals("instance-8001", response.reason());
+        assertEquals(0, meterRegistry.get("users.hedging.hedges").counter().count());
+        assertEquals(1, meterRegistry.get("users.hedging.budget.exhausted").functionCounter().count());
+    }
+
+    @Test
+    void fastServerError_shouldNotWin_whileOtherInstanceCanStillAnswer() throws Exception {
+        CountDownLatch errorClosed = new CountDownLatch(1);
+        Client client = (request, options) -> {
+            int port = URI.create(request.url()).getPort();
+            // Primarni odgovara 503 tek posle hedge-a, ali pre zdrave instance
+            sleepUninterruptibly(port == 8001 ? 40 : 80);
+            return response(request, port == 8001 ? 503 : 200, port, errorClosed);
+        };
+        when(discoveryClient.getInstances("users-service")).thenReturn(List.of(
+                new DefaultServiceInstance("a", "users-service", "localhost", 8001, false),
+                new DefaultServiceInstance("b", "users-service", "localhost", 8002, false)));
+        hedgingClient = hedging(client, new RetryBudget(0.5, 1, 10));
+
+        Response response = hedgingClient.execute(getUser("http://localhost:8001/users/1"), new Request.Options());
+
+        assertEquals(200, response.status());
+        assertEquals("instance-8002", response.reason());
+        assertTrue(errorClosed.await(1, TimeUnit.SECONDS), "503 response should be closed");
+        assertEquals(1, meterRegistry.get("users.hedging.wins").tag("winner", "hedge").counter().count());
+    }
+
+    @Test
+    void loserFinishingAfterCancel_shouldHaveItsResponseClosed() throws Exception {
+        CountDownLatch loserClosed = new CountDownLatch(1);
+        Client client = (request, options) -> {
+            int port = URI.create(request.url()).getPort();
+            if (port == 8001) {
+                // Poziv koji ne reaguje na interrupt i vrati odgovor posle prekida
+                sleepUninterruptibly(100);
+                return response(request, 200, port, loserClosed);
+            }
+            return response(request, 200, port, new CountDownLatch(1));
+        };
+        when(discoveryClient.getInstances("users-service")).thenReturn(List.of(
+                new DefaultServiceInstance("a", "users-service", "localhost", 8001, false),
+                new DefaultServiceInstance("b", "users-service", "localhost", 8002, false)));
+        hedgingClient = hedging(client, new RetryBudget(0.5, 1, 10));
+
+        Response response = hedgingClient.execute(getUser("http://localhost:8001/users/1"), new Request.Options());
+
+        assertEquals("instance-8002", response.reason());
+        assertTrue(loserClosed.await(1, TimeUnit.SECONDS), "late loser response should be closed");
+    }
+
+    private HedgingClient hedging(RetryBudget budget) {
+        return hedging(instances, budget);
+    }
+
+    private HedgingClient hedging(Client client, RetryBudget budget) {
+        return new HedgingClient(client, discoveryClient,
+                new HedgingClient.Settings(0.95, Duration.ofMillis(20), Duration.ofMillis(5), 50),
+                budget, meterRegistry);
+    }
+
+    private static Response response(Request request, int status, int port, CountDownLatch closed) {
+        InputStream body = new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed.countDown();
+            }
+        };
+        return Response.builder().request(request).status(status).reason("instance-" + port)
+                .headers(Map.of()).body(body, 2).build();
+    }
+
+    private static void sleepUninterruptibly(long millis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException ignored) {
+                // nastavlja do roka
+            }
+        }
+    }
+
+    private static Request getUser(String url) {
+        RequestTemplate template = new RequestTemplate()
+                .feignTarget(new Target.HardCodedTarget<>(UserClient.class, "users-service", "http://users-service"));
+        return Request.create(Request.HttpMethod.GET, url, Map.of(), null, StandardCharsets.UTF_8, template);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ordersservice.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final RetryBudget budget = new RetryBudget(0.1, 0, 10, now::get);
+
+    @Test
+    void retries_shouldBeCappedAtRatioOfOriginalRequests() {
+        for (int i = 0; i < 100; i++) {
+            budget.recordRequest();
+        }
+        int retries = 0;
+        while (budget.canRetry()) {
+            budget.recordRequest();
+            budget.recordRetry();
+            retries++;
+        }
+        assertEquals(10, retries);
+        assertEquals(1, budget.snapshot().exhausted());
+    }
+
+    @Test
+    void budget_shouldRefill_whenOldBucketsLeaveTheWindow() {
+        for (int i = 0; i < 10; i++) {
+            budget.recordRequest();
+        }
+        budget.recordRequest();
+        budget.recordRetry();
+        assertFalse(budget.canRetry());
+
+        now.addAndGet(11_000_000_000L);
+        assertEquals(0, budget.snapshot().requests());
+        for (int i = 0; i < 10; i++) {
+            budget.recordRequest();
+        }
+        assertTrue(budget.canRetry());
+    }
+}
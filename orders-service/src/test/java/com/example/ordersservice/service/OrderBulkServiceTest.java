@@ -0,0 +1,112 @@
+package com.example.ordersservice.service;
+
+import com.example.ordersservice.DTO.BulkOrderReport;
+import com.example.ordersservice.DTO.BulkOrderResult;
+import com.example.ordersservice.DTO.UserDTO;
+import com.example.ordersservice.cache.UserCache;
+import com.example.ordersservice.feign.UserClient;
+import com.example.ordersservice.model.Order;
+import com.example.ordersservice.publisher.OrderChangedEventPublisher;
+import com.example.ordersservice.publisher.OrderEventPublisher;
+import com.example.ordersservice.readmodel.OrderDetailsReadModel;
+import com.example.ordersservice.repository.OrderRepository;
+import com.example.ordersservice.stats.UserOrderAggregates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBulkServiceTest {
+
+    @Mock
+    OrderRepository orderRepository;
+
+    @Mock
+    UserClient userClient;
+
+    @Mock
+    UserCache userCache;
+
+    @Mock
+    OrderEventPublisher publisher;
+
+    @Mock
+    OrderChangedEventPublisher changedPublisher;
+
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Mock
+    OrderDetailsReadModel readModel;
+
+    UserOrderAggregates aggregates;
+    OrderBulkService bulkService;
+
+    @BeforeEach
+    void setUp() {
+        aggregates = new UserOrderAggregates(orderRepository, new SimpleMeterRegistry());
+        bulkService = new OrderBulkService(orderRepository, userClient, userCache, publisher, changedPublisher,
+                Validation.buildDefaultValidatorFactory().getValidator(), entityManager, transactionManager,
+                aggregates, readModel, 2, 100);
+    }
+
+    @Test
+    void createOrders_shouldValidateUsersOnceAndReportPerItem() {
+        AtomicLong ids = new AtomicLong(100);
+        when(orderRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Order> batch = inv.getArgument(0);
+            batch.forEach(o -> o.setId(ids.incrementAndGet()));
+            return batch;
+        });
+        when(userClient.getUsersByIds(anyCollection()))
+                .thenReturn(List.of(new UserDTO(1L, "Ana", "ana@example.com"), new UserDTO(2L, "Mika", "mika@example.com")));
+
+        BulkOrderReport report = bulkService.createOrders(List.of(
+                new Order(null, 1L, "Laptop", BigDecimal.valueOf(1200)),
+                new Order(null, 2L, "Mouse", BigDecimal.valueOf(20)),
+                new Order(null, 1L, "X", BigDecimal.valueOf(5)),
+                new Order(null, 3L, "Monitor", BigDecimal.valueOf(300)),
+                new Order(null, 2L, "Keyboard", BigDecimal.valueOf(50))));
+
+        assertEquals(5, report.total());
+        assertEquals(3, report.created());
+        assertEquals(2, report.rejected());
+        assertEquals(BulkOrderResult.Status.REJECTED, report.results().get(2).status());
+        assertTrue(report.results().get(3).error().contains("User not found with ID 3"));
+        assertEquals(101L, report.results().get(0).id());
+
+        verify(userClient, times(1)).getUsersByIds(anyCollection());
+        verify(userClient, never()).getUserById(any());
+        verify(orderRepository, times(2)).saveAll(anyList());
+        verify(publisher, times(2)).publishOrdersCreated(anyList());
+        verify(changedPublisher, times(2)).sendOrdersCreated(anyList());
+        verify(changedPublisher, never()).sendOrderCreated(any());
+        assertEquals(2, aggregates.get(2L).orderCount());
+        assertEquals(7000, aggregates.get(2L).totalCents());
+    }
+
+    @Test
+    void createOrders_shouldRejectOversizedRequest() {
+        List<Order> tooMany = java.util.Collections.nCopies(101, new Order(null, 1L, "Mouse", BigDecimal.ONE));
+
+        assertThrows(IllegalArgumentException.class, () -> bulkService.createOrders(tooMany));
+        verifyNoInteractions(userClient, orderRepository);
+    }
+}
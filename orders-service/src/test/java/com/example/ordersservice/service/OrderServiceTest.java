@@ -1,19 +1,28 @@
 package com.example.ordersservice.service;
 
 import com.example.ordersservice.DTO.UserDTO;
+import com.example.ordersservice.cache.UserCache;
 import com.example.ordersservice.feign.UserClient;
 import com.example.ordersservice.model.Order;
+import com.example.ordersservice.publisher.OrderChangedEventPublisher;
+import com.example.ordersservice.readmodel.OrderDetailsReadModel;
 import com.example.ordersservice.repository.OrderRepository;
+import com.example.ordersservice.stats.UserOrderAggregates;
 import feign.FeignException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,9 +34,24 @@ class OrderServiceTest {
     @Mock
     UserClient userClient;
 
+    @Mock
+    UserCache userCache;
+
     @Mock
     RabbitTemplate rabbitTemplate;
 
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    UserOrderAggregates aggregates;
+
+    @Mock
+    OrderDetailsReadModel readModel;
+
+    @Mock
+    OrderChangedEventPublisher changedPublisher;
+
     @InjectMocks
     OrderService orderService;
 
@@ -60,4 +84,40 @@ class OrderServiceTest {
         assertTrue(ex.getMessage().contains("Users-service unavailable"));
         verify(orderRepository, never()).save(any());
     }
+
+    @Test
+    void updateOrder_shouldRetryAfterConcurrentUpdate_andApplyDeltaOnce() {
+        inTransaction();
+        when(orderRepository.findById(1L)).thenReturn(
+                Optional.of(new Order(1L, 7L, "Laptop", new BigDecimal("1000.00"))),
+                Optional.of(new Order(1L, 8L, "Laptop", new BigDecimal("1100.00"))));
+        when(orderRepository.saveAndFlush(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Order.class, 1L))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        Order saved = orderService.updateOrder(1L, new Order(null, 9L, "Laptop Pro", new BigDecimal("1500.00")));
+
+        // Razlika se računa od stanja koje je upisala konkurentna izmena (korisnik 8), a ne od prvog čitanja
+        assertEquals(9L, saved.getUserId());
+        verify(aggregates).orderUpdated(8L, new BigDecimal("1100.00"), saved);
+        verify(changedPublisher).sendOrderUpdated(8L, new BigDecimal("1100.00"), saved);
+        verifyNoMoreInteractions(aggregates);
+    }
+
+    @Test
+    void deleteOrder_shouldGiveUp_whenOrderKeepsChangingConcurrently() {
+        inTransaction();
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(new Order(1L, 7L, "Laptop", new BigDecimal("1000.00"))));
+        doThrow(new ObjectOptimisticLockingFailureException(Order.class, 1L)).when(orderRepository).flush();
+
+        assertThrows(IllegalStateException.class, () -> orderService.deleteOrder(1L));
+
+        verify(orderRepository, times(3)).delete(any());
+        verifyNoInteractions(aggregates, changedPublisher);
+    }
+
+    private void inTransaction() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
 }
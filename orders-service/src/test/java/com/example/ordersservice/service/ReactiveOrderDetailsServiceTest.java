@@ -0,0 +1,106 @@
+package com.example.ordersservice.service;
+
+import com.example.ordersservice.DTO.UserDTO;
+import com.example.ordersservice.cache.UserCache;
+import com.example.ordersservice.client.ReactiveUserClient;
+import com.example.ordersservice.model.Order;
+import com.example.ordersservice.model.OrderDetails;
+import com.example.ordersservice.readmodel.OrderDetailsReadModel;
+import com.example.ordersservice.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveOrderDetailsServiceTest {
+
+    @Mock
+    OrderRepository orderRepository;
+
+    @Mock
+    ReactiveUserClient userClient;
+
+    @Mock
+    UserCache userCache;
+
+    @Mock
+    OrderDetailsReadModel readModel;
+
+    @InjectMocks
+    ReactiveOrderDetailsService detailsService;
+
+    @Test
+    void getOrderDetailsPage_shouldFetchMissingUsersInOneBatch() {
+        when(orderRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10))).thenReturn(List.of(
+                new Order(1L, 1L, "Laptop", BigDecimal.TEN),
+                new Order(2L, 2L, "Mouse", BigDecimal.ONE),
+                new Order(3L, 1L, "Monitor", BigDecimal.TEN)));
+        when(userCache.get(1L)).thenReturn(Optional.of(new UserDTO(1L, "Ana", "ana@example.com")));
+        when(userClient.getUsersByIds(Set.of(2L))).thenReturn(Mono.just(List.of(new UserDTO(2L, "Mika", "mika@example.com"))));
+
+        StepVerifier.create(detailsService.getOrderDetailsPage(0L, 10))
+                .assertNext(details -> {
+                    assertEquals(3, details.size());
+                    assertEquals("Ana", details.get(0).user().name());
+                    assertEquals("Mika", details.get(1).user().name());
+                    assertEquals("Ana", details.get(2).user().name());
+                })
+                .verifyComplete();
+
+        verify(userClient, times(1)).getUsersByIds(Set.of(2L));
+        verify(userCache).put(new UserDTO(2L, "Mika", "mika@example.com"));
+    }
+
+    @Test
+    void getOrderDetails_shouldReturnPartialData_whenUsersServiceFails() {
+        when(orderRepository.findById(5L)).thenReturn(Optional.of(new Order(5L, 9L, "Tablet", BigDecimal.TEN)));
+        when(userClient.getUserById(9L)).thenReturn(Mono.error(new IllegalStateException("users-service down")));
+
+        StepVerifier.create(detailsService.getOrderDetails(5L))
+                .assertNext(details -> {
+                    assertEquals(5L, details.order().getId());
+                    assertNull(details.user().id());
+                })
+                .verifyComplete();
+
+        verify(orderRepository, times(1)).findById(5L);
+        verify(readModel, never()).orderLoaded(any(), any());
+    }
+
+    @Test
+    void getOrderDetails_shouldBeServedLocally_whenReadModelHasOrderAndUser() {
+        OrderDetails local = new OrderDetails(new Order(7L, 1L, "Laptop", BigDecimal.TEN), new UserDTO(1L, "Ana", "ana@example.com"));
+        when(readModel.find(7L)).thenReturn(Optional.of(local));
+
+        StepVerifier.create(detailsService.getOrderDetails(7L))
+                .expectNext(local)
+                .verifyComplete();
+
+        verifyNoInteractions(orderRepository, userClient);
+    }
+
+    @Test
+    void getOrderDetails_shouldFail_whenOrderDoesNotExist() {
+        when(orderRepository.findById(404L)).thenReturn(Optional.empty());
+
+        StepVerifier.create(detailsService.getOrderDetails(404L))
+                .expectErrorMatches(e -> e instanceof IllegalArgumentException
+                        && e.getMessage().contains("Order not found with ID 404"))
+                .verify();
+
+        verifyNoInteractions(userClient);
+    }
+}
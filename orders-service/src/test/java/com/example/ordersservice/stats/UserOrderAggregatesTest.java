@@ -0,0 +1,113 @@
+package com.example.ordersservice.stats;
+
+import com.example.ordersservice.DTO.UserOrderStats;
+import com.example.ordersservice.event.OrderChangedEvent;
+import com.example.ordersservice.model.Order;
+import com.example.ordersservice.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserOrderAggregatesTest {
+
+    @Mock
+    OrderRepository orderRepository;
+
+    UserOrderAggregates aggregates;
+
+    @BeforeEach
+    void setUp() {
+        aggregates = new UserOrderAggregates(orderRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void rebuild_shouldLoadTotalsInCents_andKeepTopSortedBySpend() {
+        when(orderRepository.sumByUser()).thenReturn(List.of(
+                totals(1L, 2, "25.50"), totals(2L, 1, "1200.00"), totals(3L, 3, "19.99")));
+
+        aggregates.rebuild();
+
+        assertEquals(new UserOrderStats(1L, 2, 2550), aggregates.get(1L));
+        assertEquals(List.of(2L, 1L), aggregates.top(2).stream().map(UserOrderStats::userId).toList());
+        assertEquals(new UserOrderStats(9L, 0, 0), aggregates.get(9L));
+    }
+
+    @Test
+    void incrementalUpdates_shouldMoveTotalsBetweenUsers() {
+        Order order = new Order(10L, 1L, "Laptop", new BigDecimal("1200.00"));
+        aggregates.orderCreated(order);
+        aggregates.orderCreated(new Order(11L, 2L, "Mouse", new BigDecimal("19.99")));
+
+        Order moved = new Order(10L, 2L, "Laptop", new BigDecimal("1100.50"));
+        aggregates.orderUpdated(1L, order.getPrice(), moved);
+
+        assertEquals(new UserOrderStats(1L, 0, 0), aggregates.get(1L));
+        assertEquals(new UserOrderStats(2L, 2, 112049), aggregates.get(2L));
+        assertEquals(List.of(new UserOrderStats(2L, 2, 112049)), aggregates.top(10));
+
+        aggregates.orderDeleted(moved);
+
+        assertEquals(new UserOrderStats(2L, 1, 1999), aggregates.get(2L));
+    }
+
+    @Test
+    void orderChangedEvents_fromAnotherInstance_shouldApplyTheSameDeltas() {
+        Order order = new Order(10L, 1L, "Laptop", new BigDecimal("1200.00"));
+        aggregates.orderChanged(OrderChangedEvent.created("other", order));
+
+        Order moved = new Order(10L, 2L, "Laptop", new BigDecimal("1100.50"));
+        aggregates.orderChanged(OrderChangedEvent.updated("other", 1L, order.getPrice(), moved));
+
+        assertEquals(new UserOrderStats(1L, 0, 0), aggregates.get(1L));
+        assertEquals(new UserOrderStats(2L, 1, 110050), aggregates.get(2L));
+
+        aggregates.orderChanged(OrderChangedEvent.deleted("other", moved));
+
+        assertEquals(List.of(), aggregates.top(10));
+    }
+
+    @Test
+    void rebuild_shouldCorrectDriftFromMissedEvents_withoutClearingOtherUsers() {
+        when(orderRepository.sumByUser()).thenReturn(List.of(totals(1L, 1, "10.00"), totals(2L, 2, "30.00")));
+        aggregates.rebuild();
+
+        // Propušten DELETED za korisnika 1 i dupliran CREATED za korisnika 3 kojeg nema u bazi
+        aggregates.orderCreated(new Order(20L, 1L, "Kabl", new BigDecimal("5.00")));
+        aggregates.orderCreated(new Order(21L, 3L, "Miš", new BigDecimal("19.99")));
+
+        aggregates.rebuild();
+
+        assertEquals(new UserOrderStats(1L, 1, 1000), aggregates.get(1L));
+        assertEquals(new UserOrderStats(3L, 0, 0), aggregates.get(3L));
+        assertEquals(List.of(new UserOrderStats(2L, 2, 3000), new UserOrderStats(1L, 1, 1000)), aggregates.top(10));
+    }
+
+    private static OrderRepository.UserTotals totals(Long userId, long count, String total) {
+        return new OrderRepository.UserTotals() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public long getOrderCount() {
+                return count;
+            }
+
+            @Override
+            public BigDecimal getTotal() {
+                return new BigDecimal(total);
+            }
+        };
+    }
+}
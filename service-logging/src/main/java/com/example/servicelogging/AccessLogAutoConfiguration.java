@@ -0,0 +1,25 @@
+package com.example.servicelogging;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Svaki servlet servis koji zavisi od modula dobija jednu access liniju po zahtevu (logger "access")
+ * i asinhroni logback (logback-spring.xml iz ovog modula). Access linije se gase sa
+ * {@code logging.level.access=OFF}, a sinhroni ispis vraća profil {@code sync-logging}.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(OncePerRequestFilter.class)
+public class AccessLogAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AccessLogFilter accessLogFilter() {
+        return new AccessLogFilter();
+    }
+}
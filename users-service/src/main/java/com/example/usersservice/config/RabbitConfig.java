@@ -0,0 +1,23 @@
+package com.example.usersservice.config;
+
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitConfig {
+
+    public static final String USERS_EVENTS_EXCHANGE = "users.events";
+
+    @Bean
+    public FanoutExchange usersEventsExchange() {
+        return new FanoutExchange(USERS_EVENTS_EXCHANGE);
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.usersservice.controller;
 
 import com.example.usersservice.DTO.UserDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import com.example.usersservice.model.User;
 import com.example.usersservice.service.UserService;
@@ -9,7 +12,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,25 +25,59 @@ import java.util.stream.Collectors;
 public class UserController {
 
     private static final Logger log = LoggerFactory.getLogger(UserController.class);
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDTO>> getAll() {
-        log.info("📋 Fetching all users...");
-        List<UserDTO> users = userService.getAll()
+    public ResponseEntity<List<UserDTO>> getAll(@RequestParam(required = false) Long after,
+                                                @RequestParam(required = false) Integer limit) {
+        if (after == null && limit == null) {
+            log.debug("📋 Fetching all users...");
+            List<UserDTO> users = userService.getAll()
+                    .stream()
+                    .map(userService::toDTO)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(users);
+        }
+
+        int pageSize = Math.min(Math.max(limit == null ? DEFAULT_PAGE_SIZE : limit, 1), MAX_PAGE_SIZE);
+        log.debug("📄 Fetching {} users after ID {}", pageSize, after);
+        List<UserDTO> page = userService.getPage(after == null ? 0L : after, pageSize)
                 .stream()
                 .map(userService::toDTO)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(users);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.get(page.size() - 1).id()));
+        }
+        return response.body(page);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        log.debug("🌊 Streaming all users as NDJSON...");
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                json.setRootValueSeparator(null);
+                userService.streamAll(user -> writeLine(json, user));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Object> getById(@PathVariable Long id) {
-        log.info("🔍 Fetching user with ID {}", id);
+        log.debug("🔍 Fetching user with ID {}", id);
         return userService.getById(id)
                 .<ResponseEntity<Object>>map(ResponseEntity::ok)
                 .orElseGet(() -> {
@@ -46,12 +87,30 @@ public class UserController {
                 });
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> getByIds(@RequestBody List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+        if (ids.size() > MAX_BATCH_SIZE) {
+            log.warn("🚫 Batch lookup rejected: {} IDs requested (max {})", ids.size(), MAX_BATCH_SIZE);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Batch size must not exceed " + MAX_BATCH_SIZE + " IDs");
+        }
+        log.debug("📚 Fetching batch of {} users", ids.size());
+        List<UserDTO> users = userService.getByIds(new LinkedHashSet<>(ids))
+                .stream()
+                .map(userService::toDTO)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(users);
+    }
+
     @PostMapping
     public ResponseEntity<?> create(@Validated @RequestBody User user) {
-        log.info("🆕 Creating new user with email {}", user.getEmail());
+        log.debug("🆕 Creating new user with email {}", user.getEmail());
         try {
             User saved = userService.create(user);
-            log.info("✅ Successfully created user with ID {}", saved.getId());
+            log.debug("✅ Successfully created user with ID {}", saved.getId());
             return ResponseEntity.status(HttpStatus.CREATED).body(userService.toDTO(saved));
         } catch (Exception e) {
             log.error("💥 Error creating user: {}", e.getMessage());
@@ -62,10 +121,10 @@ public class UserController {
 
     @PutMapping("/{id}")
     public ResponseEntity<?> update(@PathVariable Long id, @Validated @RequestBody User updated) {
-        log.info("✏️ Updating user with ID {}", id);
+        log.debug("✏️ Updating user with ID {}", id);
         try {
             User saved = userService.update(id, updated);
-            log.info("✅ Successfully updated user with ID {}", id);
+            log.debug("✅ Successfully updated user with ID {}", id);
             return ResponseEntity.ok(userService.toDTO(saved));
         } catch (IllegalArgumentException e) {
             log.warn("⚠️ {}", e.getMessage());
@@ -78,10 +137,10 @@ public class UserController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(@PathVariable Long id) {
-        log.info("🗑️ Deleting user with ID {}", id);
+        log.debug("🗑️ Deleting user with ID {}", id);
         try {
             userService.delete(id);
-            log.info("✅ Successfully deleted user {}", id);
+            log.debug("✅ Successfully deleted user {}", id);
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             log.error("💥 Error deleting user {}: {}", id, e.getMessage());
@@ -102,4 +161,13 @@ public class UserController {
         log.warn("⚠️ {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
+
+    private static void writeLine(JsonGenerator json, Object row) {
+        try {
+            json.writeObject(row);
+            json.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.example.usersservice.event;
+
+// name/email nose novo stanje korisnika (null za DELETED), da potrošači ne moraju da ga dohvataju
+public record UserChangedEvent(Long userId, Type type, String name, String email) {
+
+    public enum Type { UPDATED, DELETED }
+}
@@ -0,0 +1,37 @@
+package com.example.usersservice.publisher;
+
+import com.example.usersservice.config.RabbitConfig;
+import com.example.usersservice.event.UserChangedEvent;
+import com.example.usersservice.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserEventPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(UserEventPublisher.class);
+    private final RabbitTemplate rabbitTemplate;
+
+    public UserEventPublisher(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    public void sendUserUpdated(User user) {
+        send(new UserChangedEvent(user.getId(), UserChangedEvent.Type.UPDATED, user.getName(), user.getEmail()));
+    }
+
+    public void sendUserDeleted(Long userId) {
+        send(new UserChangedEvent(userId, UserChangedEvent.Type.DELETED, null, null));
+    }
+
+    private void send(UserChangedEvent event) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitConfig.USERS_EVENTS_EXCHANGE, "", event);
+            log.info("📨 Published UserChanged ({}) event for user ID {}", event.type(), event.userId());
+        } catch (Exception e) {
+            log.error("💥 Failed to publish UserChanged event for user ID {}: {}", event.userId(), e.getMessage());
+        }
+    }
+}
@@ -3,22 +3,30 @@ package com.example.usersservice.service;
 import com.example.usersservice.DTO.UserDTO;
 import com.example.usersservice.controller.UserController;
 import com.example.usersservice.model.User;
+import com.example.usersservice.publisher.UserEventPublisher;
 import com.example.usersservice.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
 
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
     private final UserRepository userRepository;
+    private final UserEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public UserDTO toDTO(User user) {
@@ -37,22 +45,37 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    public List<User> getPage(Long afterId, int limit) {
+        return userRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<UserDTO> sink) {
+        try (Stream<UserDTO> users = userRepository.streamAll()) {
+            users.forEach(sink);
+        }
+    }
+
     public Optional<User> getById(Long id) {
         return userRepository.findById(id);
     }
 
+    public List<User> getByIds(Collection<Long> ids) {
+        return userRepository.findAllById(ids);
+    }
+
     public User create(User user) {
         log.debug("🧩 Checking if email {} already exists...", user.getEmail());
         if (userRepository.existsByEmail(user.getEmail())) {
             log.warn("🚫 User with email {} already exists!", user.getEmail());
             throw new IllegalArgumentException("User with this email already exists.");
         }
-        log.info("💾 Saving new user {}", user.getName());
+        log.debug("💾 Saving new user {}", user.getName());
         return userRepository.save(user);
     }
 
     public User update(Long id, User updated) {
-        return userRepository.findById(id)
+        User saved = userRepository.findById(id)
                 .map(existing -> {
                     existing.setName(updated.getName());
                     existing.setEmail(updated.getEmail());
@@ -60,6 +83,8 @@ public class UserService {
                     return userRepository.save(existing);
                 })
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id " + id));
+        eventPublisher.sendUserUpdated(saved);
+        return saved;
     }
 
     public void delete(Long id) {
@@ -68,5 +93,6 @@ public class UserService {
             throw new IllegalArgumentException("User not found with ID " + id);
         }
         userRepository.deleteById(id);
+        eventPublisher.sendUserDeleted(id);
     }
 }
@@ -1,7 +1,11 @@
 package com.example.usersservice.controller;
 
+import com.example.gatewayauth.GatewayToken;
+import com.example.gatewayauth.GatewayTokenSigner;
+import com.example.usersservice.DTO.UserDTO;
 import com.example.usersservice.model.User;
 import com.example.usersservice.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,10 +14,14 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -26,9 +34,25 @@ class UsersControllerWebMvcTest {
     @MockBean
     private UserService userService;
 
+    @Autowired
+    private GatewayTokenSigner tokenSigner;
+
     private final HttpHeaders gatewayHeaders = new HttpHeaders();
-    {
-        gatewayHeaders.add("X-From-Gateway", "true");
+
+    @BeforeEach
+    void addGatewayToken() {
+        gatewayHeaders.set(GatewayToken.HEADER, tokenSigner.currentToken());
+    }
+
+    @Test
+    void request_shouldBeRejected_withoutValidGatewayToken() throws Exception {
+        mockMvc.perform(get("/users/1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/users/1").header(GatewayToken.HEADER, "v1.api-gateway.9999999999.bGF6bmk")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized());
+        Mockito.verifyNoInteractions(userService);
     }
 
     @Test
@@ -59,4 +83,55 @@ class UsersControllerWebMvcTest {
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.email").value("pera@example.com"));
     }
+
+    @Test
+    void getAll_withCursor_shouldReturnPageAndNextCursor() throws Exception {
+        var first = new User("Ana", "ana@example.com", "sekret1");
+        first.setId(11L);
+        var second = new User("Mika", "mika@example.com", "sekret1");
+        second.setId(12L);
+        Mockito.when(userService.getPage(10L, 2)).thenReturn(List.of(first, second));
+        Mockito.when(userService.toDTO(Mockito.any(User.class)))
+                .thenAnswer(inv -> {
+                    User u = inv.getArgument(0);
+                    return new UserDTO(u.getId(), u.getName(), u.getEmail());
+                });
+
+        mockMvc.perform(
+                        get("/users")
+                                .param("after", "10")
+                                .param("limit", "2")
+                                .headers(gatewayHeaders)
+                                .accept(MediaType.APPLICATION_JSON)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "12"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].email").value("mika@example.com"));
+    }
+
+    @Test
+    void getAll_asNdjson_shouldStreamOneUserPerLine() throws Exception {
+        Mockito.doAnswer(inv -> {
+            Consumer<UserDTO> sink = inv.getArgument(0);
+            sink.accept(new UserDTO(1L, "Ana", "ana@example.com"));
+            sink.accept(new UserDTO(2L, "Mika", "mika@example.com"));
+            return null;
+        }).when(userService).streamAll(Mockito.any());
+
+        MvcResult started = mockMvc.perform(
+                        get("/users")
+                                .headers(gatewayHeaders)
+                                .accept(MediaType.APPLICATION_NDJSON)
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":1,\"name\":\"Ana\",\"email\":\"ana@example.com\"}\n" +
+                        "{\"id\":2,\"name\":\"Mika\",\"email\":\"mika@example.com\"}\n"));
+    }
 }